@@ -0,0 +1,253 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)AttributeTable.java
+ */
+
+package edu.upenn.gloDB;
+
+import java.util.HashMap;
+
+/**
+ * AttributeTable.  Stores each distinct Feature attributes string
+ * once, so that the Features in a Track only need to keep an int
+ * row pointer into the table.  Rows are never removed or changed
+ * once added, so a table can be shared between Tracks.  Row 0 is
+ * always the empty attributes string.
+ *
+ * <p>The table is also a dictionary of the attribute keys and
+ * values.  Each distinct key or value string is given an int code
+ * and each row is encoded as an array of key/value code pairs, so
+ * attribute lookups are int comparisons and common values (ex:
+ * "strand=+") are only stored once.  Rows are encoded when first
+ * used.
+ *
+ * <p>A table can be read from several threads at once (ex: the
+ * Sequences of a Track solved in parallel), including rows being
+ * encoded or added while others are read.  Adding rows and the
+ * dictionary are synchronized.  get() and hash() aren't, since the
+ * arrays are only replaced once the existing rows are copied and
+ * rows are never changed once added.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class AttributeTable {
+
+	 /** The attribute strings, indexed by row. */
+	 private volatile String[] rows = new String[16];
+
+	 /** Cached hashCode() of each attribute string, indexed by row. */
+	 private volatile int[] hashes = new int[16];
+
+	 /** Number of rows in the table. */
+	 private volatile int size = 0;
+
+	 /** Map of attribute strings to their row (as an Integer). */
+	 private HashMap index = new HashMap();
+
+	 /**
+	  * The key/value codes for each row, as {key, value, key, value,
+	  * ...}.  A row's entry is null until the row is first encoded.
+	  */
+	 private int[][] codes = new int[16][];
+
+	 /** The key and value strings, indexed by code. */
+	 private String[] strings = new String[16];
+
+	 /** Number of key and value strings in the dictionary. */
+	 private int numStrings = 0;
+
+	 /** Map of key and value strings to their code (as an Integer). */
+	 private HashMap stringIndex = new HashMap();
+
+	 /** All rows below this have been encoded. */
+	 private int numEncoded = 0;
+
+	 /** Create a new table containing only the empty attributes row. */
+	 public AttributeTable() {
+		  add("");
+	 }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the attributes string stored in 'row'. */
+	 public String get(int row) { return rows[row]; }
+
+	 /** Returns the hashCode() of the attributes string in 'row'. */
+	 public int hash(int row) { return hashes[row]; }
+
+	 /** Returns the number of rows in the table. */
+	 public int size() { return size; }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Returns the row for 'attributes', adding a new row if the
+	  * string isn't already in the table.  A null string is treated
+	  * as the empty string.
+	  */
+	 public synchronized int add(String attributes) {
+		  if (attributes == null) attributes = "";
+
+		  Integer row = (Integer) index.get(attributes);
+		  if (row != null) return row.intValue();
+
+		  // the new row is set before the arrays are replaced, so
+		  // readers never see a new array with missing rows
+		  int n = size;
+		  if (n == rows.length) {
+				String[] newRows = new String[n * 2];
+				System.arraycopy(rows, 0, newRows, 0, n);
+				newRows[n] = attributes;
+
+				int[] newHashes = new int[n * 2];
+				System.arraycopy(hashes, 0, newHashes, 0, n);
+				newHashes[n] = attributes.hashCode();
+
+				int[][] newCodes = new int[n * 2][];
+				System.arraycopy(codes, 0, newCodes, 0, n);
+				codes = newCodes;
+
+				hashes = newHashes;
+				rows = newRows;
+		  } else {
+				rows[n] = attributes;
+				hashes[n] = attributes.hashCode();
+		  }
+
+		  index.put(attributes, Integer.valueOf(n));
+		  size = n + 1;
+		  return n;
+	 }
+
+	 /**
+	  * Returns the dictionary code for the key or value 'string'.
+	  * Returns -1 if 'string' is not in the dictionary, in which case
+	  * no row contains it.  Any rows not yet encoded are encoded
+	  * first.
+	  */
+	 public synchronized int getCode(String string) {
+		  for (; numEncoded < size; numEncoded++) {
+				if (codes[numEncoded] == null) encode(numEncoded);
+		  }
+
+		  Integer code = (Integer) stringIndex.get(string);
+		  if (code == null) return -1;
+		  return code.intValue();
+	 }
+
+	 /** Returns the key or value string for 'code'. */
+	 public synchronized String getString(int code) { return strings[code]; }
+
+	 /**
+	  * Returns the key/value codes for 'row', as {key, value, key,
+	  * value, ...}.  The array must not be changed.
+	  */
+	 public synchronized int[] getCodes(int row) {
+		  if (codes[row] == null) encode(row);
+		  return codes[row];
+	 }
+
+	 /**
+	  * Returns the value code for the key 'keyCode' in 'row'.  If the
+	  * key occurs more than once, the last value is used.  Returns -1
+	  * if 'row' doesn't contain the key.
+	  */
+	 public int getValueCode(int row, int keyCode) {
+		  int[] pairs = getCodes(row);
+		  for (int i = pairs.length - 2; i >= 0; i -= 2) {
+				if (pairs[i] == keyCode) return pairs[i + 1];
+		  }
+		  return -1;
+	 }
+
+	 /**
+	  * Returns 'true' if 'row' contains the attribute 'key' with the
+	  * value 'value'.
+	  */
+	 public boolean contains(int row, String key, String value) {
+		  int keyCode = getCode(key);
+		  int valueCode = getCode(value);
+		  if ((keyCode == -1) || (valueCode == -1)) return false;
+		  return getValueCode(row, keyCode) == valueCode;
+	 }
+
+	 /** Returns the attributes in 'row' as a new HashMap. */
+	 public synchronized HashMap getMap(int row) {
+		  int[] pairs = getCodes(row);
+		  HashMap attribMap = new HashMap();
+		  for (int i = 0; i < pairs.length; i += 2) {
+				attribMap.put(strings[pairs[i]], strings[pairs[i + 1]]);
+		  }
+		  return attribMap;
+	 }
+
+	 /**
+	  * Splits the attributes string in 'row' into key/value pairs and
+	  * stores their codes.  Pairs are delimited by ";" and the key and
+	  * value by "=".  A pair without a value uses the key as its
+	  * value.
+	  */
+	 private void encode(int row) {
+		  String attributes = rows[row];
+		  if (GloDBUtils.isEmpty(attributes)) {
+				codes[row] = new int[0];
+				return;
+		  }
+
+		  String[] pairs = attributes.split(";");
+		  int[] rowCodes = new int[pairs.length * 2];
+		  for (int i = 0; i < pairs.length; i++) {
+				String[] keyVal = pairs[i].split("=");
+				rowCodes[i * 2] = intern(keyVal[0]);
+				if (keyVal.length == 1) {
+					 // this should never happen
+					 rowCodes[(i * 2) + 1] = rowCodes[i * 2];
+					 GloDBUtils.printWarning("Found potentially invalid Feature attributes (" + keyVal[0] + ") in " + attributes);
+				} else {
+					 rowCodes[(i * 2) + 1] = intern(keyVal[1]);
+				}
+		  }
+		  codes[row] = rowCodes;
+	 }
+
+	 /**
+	  * Returns the dictionary code for 'string', adding it to the
+	  * dictionary if necessary.
+	  */
+	 private int intern(String string) {
+		  Integer code = (Integer) stringIndex.get(string);
+		  if (code != null) return code.intValue();
+
+		  if (numStrings == strings.length) {
+				String[] newStrings = new String[numStrings * 2];
+				System.arraycopy(strings, 0, newStrings, 0, numStrings);
+				strings = newStrings;
+		  }
+
+		  strings[numStrings] = string;
+		  stringIndex.put(string, Integer.valueOf(numStrings));
+		  return numStrings++;
+	 }
+
+} // AttributeTable.java
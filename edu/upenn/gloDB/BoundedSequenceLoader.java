@@ -0,0 +1,56 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)BoundedSequenceLoader.java
+ */
+
+package edu.upenn.gloDB;
+
+import java.util.HashMap;
+
+/**
+ * Interface for SequenceLoaders that can return part of the sequence
+ * data, or its length, without loading the entire sequence (ie.
+ * indexed FASTA files).
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public interface BoundedSequenceLoader extends SequenceLoader {
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Return the Sequence data from 'begin' (inclusive) to 'end'
+	  * (exclusive), where the first base is at position 0.  Returns
+	  * null if the range can't be read directly, in which case the
+	  * entire sequence should be loaded using getData().
+	  */
+	 public String getDataBounded(HashMap loaderArgs, int begin, int end);
+
+	 /**
+	  * Return the length of the Sequence data, without loading the
+	  * data (ie. from an index or by scanning the source).  Returns -1
+	  * if the length can't be found this way.
+	  */
+	 public int getDataLength(HashMap loaderArgs);
+
+} // BoundedSequenceLoader.java
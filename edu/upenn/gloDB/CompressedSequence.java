@@ -0,0 +1,217 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)CompressedSequence.java
+ */
+
+package edu.upenn.gloDB;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * CompressedSequence.  Sequence data split into fixed size blocks
+ * that are compressed independently, along with a table of where
+ * each block starts.  Ranges of the data are read by only
+ * uncompressing the blocks they touch.  Recently uncompressed blocks
+ * are kept in a small cache that is shared by all
+ * CompressedSequences.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class CompressedSequence {
+
+	 /** Number of characters in each block. */
+	 public static final int BLOCK_SIZE = 65536;
+
+	 /** Number of uncompressed blocks to keep in the cache. */
+	 public static int CACHE_BLOCKS = 16;
+
+	 /**
+	  * Cache of uncompressed blocks, in least recently used order.
+	  * The keys are BlockKey objects and the values are char arrays.
+	  */
+	 private static LinkedHashMap blockCache = new LinkedHashMap(32, 0.75f, true) {
+				protected boolean removeEldestEntry(Map.Entry eldest) {
+					 return size() > CACHE_BLOCKS;
+				}
+		  };
+
+	 /** Number of characters. */
+	 private int length;
+
+	 /** The compressed blocks, one after another. */
+	 private byte[] data;
+
+	 /**
+	  * Start of each block in 'data'.  This has an extra entry at the
+	  * end, so block 'i' runs from offsets[i] to offsets[i+1].
+	  */
+	 private int[] offsets;
+
+	 private CompressedSequence() { }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the number of characters. */
+	 public int length() { return length; }
+
+	 /** Returns the number of bytes used by the compressed blocks. */
+	 public int compressedLength() { return data.length; }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Compress 'data', one block at a time.  Each character is stored
+	  * as a single byte, so if 'data' contains a character above 0xFF
+	  * then null is returned and the data should be stored as is.
+	  */
+	 public static CompressedSequence compress(String data) {
+		  CompressedSequence compressed = new CompressedSequence();
+		  compressed.length = data.length();
+
+		  int numBlocks = (data.length() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		  compressed.offsets = new int[numBlocks + 1];
+
+		  Deflater compressor = new Deflater(Deflater.BEST_SPEED);
+		  byte[] in = new byte[BLOCK_SIZE];
+		  byte[] buf = new byte[BLOCK_SIZE + 1024];
+		  byte[] out = new byte[Math.max(data.length() / 4, 1024)];
+		  int outLength = 0;
+
+		  for (int b = 0; b < numBlocks; b++) {
+				int start = b * BLOCK_SIZE;
+				int end = Math.min(start + BLOCK_SIZE, data.length());
+				for (int i = start; i < end; i++) {
+					 char c = data.charAt(i);
+					 if (c > 0xff) {
+						  compressor.end();
+						  return null;
+					 }
+					 in[i - start] = (byte) c;
+				}
+
+				compressor.reset();
+				compressor.setInput(in, 0, end - start);
+				compressor.finish();
+				while (! compressor.finished()) {
+					 int count = compressor.deflate(buf);
+					 if (outLength + count > out.length) {
+						  byte[] tmp = new byte[Math.max(out.length * 2, outLength + count)];
+						  System.arraycopy(out, 0, tmp, 0, outLength);
+						  out = tmp;
+					 }
+					 System.arraycopy(buf, 0, out, outLength, count);
+					 outLength += count;
+				}
+				compressed.offsets[b + 1] = outLength;
+		  }
+		  compressor.end();
+
+		  compressed.data = new byte[outLength];
+		  System.arraycopy(out, 0, compressed.data, 0, outLength);
+		  return compressed;
+	 }
+
+	 /**
+	  * Returns the characters from 'begin' (inclusive) to 'end'
+	  * (exclusive).  This follows String.substring(), including
+	  * throwing a StringIndexOutOfBoundsException for invalid
+	  * positions.
+	  */
+	 public String substring(int begin, int end) {
+		  if ((begin < 0) || (end > length) || (begin > end)) {
+				throw new StringIndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + length);
+		  }
+
+		  char[] out = new char[end - begin];
+		  int pos = begin;
+		  while (pos < end) {
+				// copy the rest of this block
+				int b = pos / BLOCK_SIZE;
+				int start = pos - (b * BLOCK_SIZE);
+				int count = Math.min(BLOCK_SIZE - start, end - pos);
+				System.arraycopy(getBlock(b), start, out, pos - begin, count);
+				pos += count;
+		  }
+		  return new String(out);
+	 }
+
+	 /** Returns all of the characters as a String. */
+	 public String toString() { return substring(0, length); }
+
+	 /** Returns block 'b', uncompressing it if it isn't in the cache. */
+	 private char[] getBlock(int b) {
+		  BlockKey key = new BlockKey(this, b);
+		  synchronized (blockCache) {
+				char[] block = (char[]) blockCache.get(key);
+				if (block != null) return block;
+		  }
+
+		  int size = Math.min(BLOCK_SIZE, length - (b * BLOCK_SIZE));
+		  byte[] buf = new byte[size];
+		  Inflater decompressor = new Inflater();
+		  try {
+				decompressor.setInput(data, offsets[b], offsets[b + 1] - offsets[b]);
+				int count = 0;
+				while (count < size) {
+					 count += decompressor.inflate(buf, count, size - count);
+					 if (decompressor.finished()) break;
+				}
+		  } catch (DataFormatException e) {
+				// this shouldn't happen since we compressed the data
+				throw new IllegalStateException("Corrupt sequence block: " + e.getMessage());
+		  } finally {
+				decompressor.end();
+		  }
+
+		  char[] block = new char[size];
+		  for (int i = 0; i < size; i++) block[i] = (char) (buf[i] & 0xff);
+
+		  synchronized (blockCache) { blockCache.put(key, block); }
+		  return block;
+	 }
+
+	 /** Key for the block cache. */
+	 private static class BlockKey {
+		  CompressedSequence sequence;
+		  int block;
+
+		  BlockKey(CompressedSequence sequence, int block) {
+				this.sequence = sequence;
+				this.block = block;
+		  }
+
+		  public boolean equals(Object o) {
+				if (! (o instanceof BlockKey)) return false;
+				BlockKey key = (BlockKey) o;
+				return (key.sequence == sequence) && (key.block == block);
+		  }
+
+		  public int hashCode() { return System.identityHashCode(sequence) * 31 + block; }
+	 }
+
+} // CompressedSequence.java
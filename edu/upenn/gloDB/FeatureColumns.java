@@ -0,0 +1,1108 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)FeatureColumns.java
+ */
+
+package edu.upenn.gloDB;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+import java.util.NoSuchElementException;
+import java.lang.ref.SoftReference;
+
+/**
+ * FeatureColumns.  Column based storage for the Features in a Track
+ * that are located on a single Sequence.  Instead of keeping a
+ * Feature object for each entry, the min and max positions are kept
+ * in parallel int arrays along with an int pointer to the Feature's
+ * attributes row in the Track's {@link AttributeTable
+ * AttributeTable}.  The rows are kept in the same order as
+ * {@link FeatureUtils#compareFeatures(Feature, Feature)
+ * FeatureUtils.compareFeatures()} and, as with a TreeSet, Features
+ * that compare as equal are only stored once.  Feature objects are
+ * only created when requested.  Features that can't be recreated
+ * from their positions (ie FuzzyFeatures) are kept as objects.
+ *
+ * <p>The columns can be read from several threads at once.  The
+ * sorted rows, interval index, max ordering and extents are built
+ * lazily while holding the columns' lock, and are published last
+ * through volatile fields.  Changing the rows must not overlap with
+ * any reads.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class FeatureColumns {
+
+	 /** The Sequence on which all of the Features are located. */
+	 private Sequence source;
+
+	 /** The table that stores the attribute strings. */
+	 private AttributeTable attributeTable;
+
+	 /** Number of rows in use. */
+	 private int size = 0;
+
+	 /** The min position of each Feature. */
+	 private int[] mins;
+
+	 /** The max position of each Feature. */
+	 private int[] maxs;
+
+	 /**
+	  * The attributeTable row for each Feature.  This is -1 for
+	  * Features that are stored in 'pinned'.
+	  */
+	 private int[] attribs;
+
+	 /**
+	  * Feature objects that can't be recreated from the columns (ie
+	  * FuzzyFeatures).  This is null until such a Feature is added and
+	  * otherwise null for all ExactFeature rows.
+	  */
+	 private Feature[] pinned = null;
+
+	 /**
+	  * This is false when Features were appended out of order.  The
+	  * rows will then be sorted, and duplicates removed, the next time
+	  * the rows are accessed.
+	  */
+	 private volatile boolean sorted = true;
+
+	 /**
+	  * This is true when the columns are shared by more than one Track
+	  * (ie. a Track and its clones).  Shared columns can't be changed,
+	  * a Track must copy them first.
+	  */
+	 private boolean shared = false;
+
+	 /**
+	  * The Features as a TreeSet.  This is only created when asked for
+	  * and is dropped whenever the rows change or memory is needed.
+	  */
+	 private volatile SoftReference view = null;
+
+	 /**
+	  * Interval index over the rows.  The sorted rows are treated as
+	  * an implicit binary tree, where row 'i' is a node at level 'k'
+	  * if 'i' has exactly 'k' trailing 1 bits.  maxEnds[i] is the
+	  * largest max position in the subtree rooted at row 'i'.  This
+	  * is null until an overlap lookup is made and is dropped
+	  * whenever the rows change.
+	  */
+	 private volatile int[] maxEnds = null;
+
+	 /**
+	  * The level of the root node in the interval index.  This is set
+	  * before 'maxEnds'.
+	  */
+	 private int maxLevel = 0;
+
+	 /**
+	  * The rows sorted by their max position, then by min position and
+	  * attributes, as with FeatureMaxComparator.  Features added in
+	  * order are appended directly.  This is null if it needs to be
+	  * rebuilt.
+	  */
+	 private volatile int[] byMax = new int[16];
+
+	 /**
+	  * This is true if 'maxExtent', 'coverage' and 'coverageEnd' are
+	  * current.  They are updated as Features are added in order and
+	  * otherwise recomputed when next needed.
+	  */
+	 private volatile boolean statsValid = true;
+
+	 /** The largest max position of all Features. */
+	 private int maxExtent = Integer.MIN_VALUE;
+
+	 /**
+	  * The number of positions covered by the Features.  Overlapping
+	  * positions are only counted once.
+	  */
+	 private int coverage = 0;
+
+	 /** The largest max position of the Features added so far. */
+	 private int coverageEnd = Integer.MIN_VALUE;
+
+	 /**
+	  * Create an empty set of columns for Features located on
+	  * 'source', using 'attributeTable' to store the attributes.
+	  */
+	 public FeatureColumns(Sequence source, AttributeTable attributeTable) {
+		  this(source, attributeTable, 16);
+	 }
+
+	 private FeatureColumns(Sequence source, AttributeTable attributeTable, int capacity) {
+		  if (capacity < 1) capacity = 1;
+		  this.source = source;
+		  this.attributeTable = attributeTable;
+		  mins = new int[capacity];
+		  maxs = new int[capacity];
+		  attribs = new int[capacity];
+		  byMax = new int[capacity];
+	 }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the Sequence on which the Features are located. */
+	 public Sequence getSource() { return source; }
+
+	 /** Returns the ID of the Sequence on which the Features are located. */
+	 public String getSourceID() { return source.getID(); }
+
+	 /** Returns the source ordinal of the Sequence. */
+	 public int getSourceOrdinal() { return source.getOrdinal(); }
+
+	 /** Returns the number of Features. */
+	 public int size() {
+		  if (! sorted) sort();
+		  return size;
+	 }
+
+	 /** Returns the min position of the Feature in 'row'. */
+	 public int getMin(int row) {
+		  if (! sorted) sort();
+		  return mins[row];
+	 }
+
+	 /** Returns the max position of the Feature in 'row'. */
+	 public int getMax(int row) {
+		  if (! sorted) sort();
+		  return maxs[row];
+	 }
+
+	 /** Returns the length of the Feature in 'row'. */
+	 public int length(int row) {
+		  if (! sorted) sort();
+		  if ((pinned != null) && (pinned[row] != null)) return pinned[row].length();
+		  return (maxs[row] - mins[row]) + 1;
+	 }
+
+	 /** Returns the attributes string of the Feature in 'row'. */
+	 public String getAttributes(int row) {
+		  if (! sorted) sort();
+		  if ((pinned != null) && (pinned[row] != null)) return pinned[row].getAttributes();
+		  return attributeTable.get(attribs[row]);
+	 }
+
+	 /**
+	  * Returns the attributeTable row holding the attributes of the
+	  * Feature in 'row'.  A Feature stored as an object may not have
+	  * a row yet, in which case its attributes are added to the
+	  * table.  This is safe while other threads read the table.
+	  */
+	 public int getAttributeRow(int row) {
+		  if (! sorted) sort();
+		  if ((pinned != null) && (pinned[row] != null)) {
+				return attributeTable.add(pinned[row].getAttributes());
+		  }
+		  return attribs[row];
+	 }
+
+	 /**
+	  * Returns the attributes hashCode of the Feature in 'row', as used
+	  * to order Features with the same positions.
+	  */
+	 public int getAttributesHash(int row) {
+		  if (! sorted) sort();
+		  return hash(row);
+	 }
+
+	 /** Returns the table used to store the attributes. */
+	 public AttributeTable getAttributeTable() { return attributeTable; }
+
+	 /**
+	  * Returns the Feature in 'row'.  Unless the Feature was stored as
+	  * an object, a new ExactFeature is created each time this is
+	  * called.  The new Feature is not added to the featurePool.
+	  */
+	 public Feature getFeature(int row) {
+		  if (! sorted) sort();
+		  if ((pinned != null) && (pinned[row] != null)) return pinned[row];
+
+		  Feature feature = new ExactFeature(mins[row], maxs[row], source, false);
+		  feature.setAttributes(attributeTable.get(attribs[row]));
+		  return feature;
+	 }
+
+	 /**
+	  * Returns the Features as a TreeSet.  The TreeSet is a copy, so
+	  * changes made to it will not be reflected in these columns or
+	  * in any clones that share them.
+	  */
+	 public TreeSet getFeatures() { return new TreeSet(getFeatureView()); }
+
+	 /**
+	  * Returns the Features as a TreeSet that is cached until the
+	  * Features change.  The TreeSet is shared by every caller, so it
+	  * must not be changed.
+	  */
+	 TreeSet getFeatureView() {
+		  TreeSet features = (view == null) ? null : (TreeSet) view.get();
+		  if (features == null) {
+				if (! sorted) sort();
+				features = new TreeSet();
+				for (int i = 0; i < size; i++) features.add(getFeature(i));
+				view = new SoftReference(features);
+		  }
+		  return features;
+	 }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Adds 'feature' to the columns.  Nothing is added if an equal
+	  * Feature is already present.  Features that are added in order
+	  * are appended directly, otherwise the rows will be sorted the
+	  * next time they are accessed.
+	  */
+	 public void add(Feature feature) {
+		  checkWritable();
+
+		  int min = feature.getMin();
+		  int max = feature.getMax();
+
+		  int row = -1;
+		  Feature pin = null;
+		  int hash;
+		  if (feature.getClass() == ExactFeature.class) {
+				row = attributeTable.add(feature.getAttributes());
+				hash = attributeTable.hash(row);
+		  } else {
+				pin = feature;
+				hash = feature.getAttributesHash();
+		  }
+
+		  if (sorted && (size > 0)) {
+				int cmp = compare(min, max, hash, size - 1);
+				if (cmp == 0) return;  // already in the set
+				if (cmp < 0) sorted = false;
+		  }
+
+		  ensureCapacity(size + 1);
+		  mins[size] = min;
+		  maxs[size] = max;
+		  attribs[size] = row;
+		  if (pin != null) {
+				if (pinned == null) pinned = new Feature[mins.length];
+				pinned[size] = pin;
+		  }
+		  size++;
+
+		  if (! sorted) {
+				// the rows will be resorted, so everything based on the
+				// row order must be rebuilt
+				changed();
+				return;
+		  }
+
+		  view = null;
+		  maxEnds = null;
+
+		  // the new row is last by min, so if it's also last by max then
+		  // it can be appended to 'byMax'
+		  if (byMax != null) {
+				if ((size == 1) || (compareByMax(size - 1, byMax[size - 2]) > 0)) {
+					 byMax[size - 1] = size - 1;
+				} else {
+					 byMax = null;
+				}
+		  }
+
+		  // update the extents and coverage
+		  if (statsValid) {
+				if (max > maxExtent) maxExtent = max;
+				if (min > (coverageEnd + 1)) {
+					 coverage += (max - min) + 1;
+					 coverageEnd = max;
+				} else if (max > coverageEnd) {
+					 coverage += max - coverageEnd;
+					 coverageEnd = max;
+				}
+		  }
+	 }
+
+	 /**
+	  * Removes the Feature equal to 'feature'.  Returns 'true' if a
+	  * Feature was removed.
+	  */
+	 public boolean remove(Feature feature) {
+		  checkWritable();
+
+		  int row = indexOf(feature);
+		  if (row < 0) return false;
+
+		  int tail = size - row - 1;
+		  System.arraycopy(mins, row + 1, mins, row, tail);
+		  System.arraycopy(maxs, row + 1, maxs, row, tail);
+		  System.arraycopy(attribs, row + 1, attribs, row, tail);
+		  if (pinned != null) {
+				System.arraycopy(pinned, row + 1, pinned, row, tail);
+				pinned[size - 1] = null;
+		  }
+		  size--;
+		  changed();
+		  return true;
+	 }
+
+	 /**
+	  * Adds 'feature' to the columns without checking its order or
+	  * whether it's already present.  The rows will be sorted, and
+	  * duplicates removed, the next time they are accessed.  This is
+	  * used by TrackBuilder to collect Features in bulk.
+	  */
+	 void append(Feature feature) {
+		  checkWritable();
+
+		  int row = -1;
+		  Feature pin = null;
+		  if (feature.getClass() == ExactFeature.class) {
+				row = attributeTable.add(feature.getAttributes());
+		  } else {
+				pin = feature;
+		  }
+
+		  if (sorted) {
+				sorted = false;
+				changed();
+		  }
+
+		  ensureCapacity(size + 1);
+		  mins[size] = feature.getMin();
+		  maxs[size] = feature.getMax();
+		  attribs[size] = row;
+		  if (pin != null) {
+				if (pinned == null) pinned = new Feature[mins.length];
+				pinned[size] = pin;
+		  }
+		  size++;
+	 }
+
+	 /**
+	  * Appends the rows in 'columns', which must be for the same
+	  * Sequence and use the same attributeTable.  Unless these columns
+	  * are empty, the rows will be sorted, and duplicates removed, the
+	  * next time they are accessed.
+	  */
+	 void appendAll(FeatureColumns columns) {
+		  checkWritable();
+		  if (columns.size == 0) return;
+
+		  boolean wasEmpty = (size == 0);
+		  ensureCapacity(size + columns.size);
+		  System.arraycopy(columns.mins, 0, mins, size, columns.size);
+		  System.arraycopy(columns.maxs, 0, maxs, size, columns.size);
+		  System.arraycopy(columns.attribs, 0, attribs, size, columns.size);
+		  if (columns.pinned != null) {
+				if (pinned == null) pinned = new Feature[mins.length];
+				System.arraycopy(columns.pinned, 0, pinned, size, columns.size);
+		  }
+		  size += columns.size;
+
+		  sorted = wasEmpty && columns.sorted;
+		  changed();
+	 }
+
+	 /** Sorts the rows and removes duplicates, if not already done. */
+	 void sortRows() {
+		  if (! sorted) sort();
+	 }
+
+	 /**
+	  * Marks the columns as shared between Tracks.  After this, the
+	  * rows can't be changed and a Track must use {@link
+	  * #copyRows() copyRows()} before making changes.  The rows are
+	  * sorted first, so that the row numbers don't change.
+	  */
+	 void share() {
+		  if (! sorted) sort();
+		  shared = true;
+	 }
+
+	 /** Returns true if the columns are shared between Tracks. */
+	 boolean isShared() { return shared; }
+
+	 /** Throws an IllegalStateException if the columns are shared. */
+	 private void checkWritable() {
+		  if (shared) throw new IllegalStateException("Shared FeatureColumns can't be changed.");
+	 }
+
+	 /** Returns 'true' if a Feature equal to 'feature' is present. */
+	 public boolean contains(Feature feature) { return indexOf(feature) >= 0; }
+
+	 /**
+	  * Returns the row of the Feature equal to 'feature'.  If not
+	  * present, then returns (-(insertion row) - 1).
+	  */
+	 public int indexOf(Feature feature) {
+		  if (! sorted) sort();
+
+		  int min = feature.getMin();
+		  int max = feature.getMax();
+		  int hash = feature.getAttributesHash();
+
+		  int lo = 0;
+		  int hi = size - 1;
+		  while (lo <= hi) {
+				int mid = (lo + hi) >>> 1;
+				int cmp = compare(min, max, hash, mid);
+				if (cmp > 0) lo = mid + 1;
+				else if (cmp < 0) hi = mid - 1;
+				else return mid;
+		  }
+		  return -(lo + 1);
+	 }
+
+	 /**
+	  * Removes all rows for which 'keep' is false.  'keep' must have
+	  * at least size() entries.  Returns the number of rows
+	  * remaining.
+	  */
+	 public int retain(boolean[] keep) {
+		  checkWritable();
+		  if (! sorted) sort();
+
+		  int n = 0;
+		  for (int i = 0; i < size; i++) {
+				if (! keep[i]) continue;
+				if (n != i) {
+					 mins[n] = mins[i];
+					 maxs[n] = maxs[i];
+					 attribs[n] = attribs[i];
+					 if (pinned != null) pinned[n] = pinned[i];
+				}
+				n++;
+		  }
+		  if (pinned != null) {
+				for (int i = n; i < size; i++) pinned[i] = null;
+		  }
+		  if (n != size) changed();
+		  size = n;
+		  return size;
+	 }
+
+	 /**
+	  * Returns the smallest min position of all Features.  Returns -1
+	  * if there are no Features.
+	  */
+	 public int getMinExtent() {
+		  if (size() == 0) return -1;
+		  return mins[0];
+	 }
+
+	 /**
+	  * Returns the largest max position of all Features.  Returns -1
+	  * if there are no Features.
+	  */
+	 public int getMaxExtent() {
+		  if (size() == 0) return -1;
+		  if (! statsValid) computeStats();
+		  return maxExtent;
+	 }
+
+	 /**
+	  * Returns the number of positions covered by the Features.
+	  * Overlapping positions are only counted once.
+	  */
+	 public int coverage() {
+		  if (! sorted) sort();
+		  if (! statsValid) computeStats();
+		  return coverage;
+	 }
+
+	 /**
+	  * Returns the row of the Feature at position 'i' when the
+	  * Features are sorted by their max positions.
+	  */
+	 public int getRowByMax(int i) {
+		  if (! sorted) sort();
+		  if (byMax == null) sortByMax();
+		  return byMax[i];
+	 }
+
+	 /**
+	  * Returns an Iterator over the Features sorted by their max
+	  * positions, creating the Feature objects as they are reached.
+	  * The Iterator does not support remove().
+	  */
+	 public Iterator iteratorByMax() {
+		  if (! sorted) sort();
+		  if (byMax == null) sortByMax();
+
+		  return new Iterator() {
+					 private int i = 0;
+					 public boolean hasNext() { return i < size; }
+					 public Object next() {
+						  if (i >= size) throw new NoSuchElementException();
+						  return getFeature(byMax[i++]);
+					 }
+					 public void remove() { throw new UnsupportedOperationException(); }
+				};
+	 }
+
+	 /**
+	  * Returns 'true' if at least one Feature overlaps the positions
+	  * 'min' to 'max' (inclusive).
+	  */
+	 public boolean overlaps(int min, int max) {
+		  return search(min, max, null);
+	 }
+
+	 /**
+	  * Returns the rows, in order, of all Features that overlap the
+	  * positions 'min' to 'max' (inclusive).
+	  */
+	 public int[] overlapping(int min, int max) {
+		  IntList rows = new IntList();
+		  search(min, max, rows);
+		  return rows.toArray();
+	 }
+
+	 /**
+	  * Returns the rows, in order, of all Features that contain the
+	  * positions 'min' to 'max' (inclusive).
+	  */
+	 public int[] containing(int min, int max) {
+		  IntList rows = new IntList();
+		  search(min, max, rows);
+
+		  // a Feature overlapping the range contains it if it starts
+		  // at or before 'min' and stops at or after 'max'
+		  IntList out = new IntList();
+		  for (int i = 0; i < rows.size; i++) {
+				int row = rows.data[i];
+				if ((mins[row] <= min) && (maxs[row] >= max)) out.add(row);
+		  }
+		  return out.toArray();
+	 }
+
+	 /**
+	  * Returns the rows, in order, of all Features that are contained
+	  * within the positions 'min' to 'max' (inclusive).
+	  */
+	 public int[] contained(int min, int max) {
+		  if (! sorted) sort();
+
+		  IntList out = new IntList();
+		  for (int row = firstRow(min); (row < size) && (mins[row] <= max); row++) {
+				if (maxs[row] <= max) out.add(row);
+		  }
+		  return out.toArray();
+	 }
+
+	 /**
+	  * Returns the first row with a min position of at least 'min'.
+	  * Returns size() if there is no such row.
+	  */
+	 public int firstRow(int min) {
+		  if (! sorted) sort();
+
+		  int lo = 0;
+		  int hi = size;
+		  while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (mins[mid] < min) lo = mid + 1;
+				else hi = mid;
+		  }
+		  return lo;
+	 }
+
+	 /**
+	  * Returns the first position, in the order used by
+	  * getRowByMax(), of a row with a max position of at least 'max'.
+	  * Returns size() if there is no such row.
+	  */
+	 public int firstByMax(int max) {
+		  if (! sorted) sort();
+		  if (byMax == null) sortByMax();
+
+		  int[] order = byMax;
+		  int lo = 0;
+		  int hi = size;
+		  while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (maxs[order[mid]] < max) lo = mid + 1;
+				else hi = mid;
+		  }
+		  return lo;
+	 }
+
+	 /**
+	  * Returns 'true' if the Features do not contain gaps between
+	  * them.  Returns 'false' if there are no Features.
+	  */
+	 public boolean isContiguous() {
+		  if (size() == 0) return false;
+
+		  // without gaps, the Features cover every position between the
+		  // extents
+		  return coverage() == ((getMaxExtent() - getMinExtent()) + 1);
+	 }
+
+	 /**
+	  * Returns an Iterator over the Features, creating the Feature
+	  * objects as they are reached.  The Iterator does not support
+	  * remove().
+	  */
+	 public Iterator iterator() {
+		  if (! sorted) sort();
+
+		  return new Iterator() {
+					 private int row = 0;
+					 public boolean hasNext() { return row < size; }
+					 public Object next() {
+						  if (row >= size) throw new NoSuchElementException();
+						  return getFeature(row++);
+					 }
+					 public void remove() { throw new UnsupportedOperationException(); }
+				};
+	 }
+
+	 /**
+	  * Returns a copy of these columns.  The copy shares the
+	  * attributeTable and any Feature objects that are stored as is.
+	  * If GloDBUtils.IGNORE_ATTRIBUTES is set, then Features that only
+	  * differ by their attributes will not be included in the copy.
+	  */
+	 public FeatureColumns copy() {
+		  FeatureColumns columns = copyRows();
+		  if (GloDBUtils.ignoreAttributes()) columns.removeDuplicates();
+		  return columns;
+	 }
+
+	 /**
+	  * Returns an unshared copy of these columns with exactly the same
+	  * rows, in the same order.
+	  */
+	 FeatureColumns copyRows() {
+		  if (! sorted) sort();
+
+		  FeatureColumns columns = new FeatureColumns(source, attributeTable, size);
+		  System.arraycopy(mins, 0, columns.mins, 0, size);
+		  System.arraycopy(maxs, 0, columns.maxs, 0, size);
+		  System.arraycopy(attribs, 0, columns.attribs, 0, size);
+		  if (pinned != null) {
+				columns.pinned = new Feature[columns.mins.length];
+				System.arraycopy(pinned, 0, columns.pinned, 0, size);
+		  }
+		  columns.size = size;
+
+		  // the copy has the same rows, so the max ordering and extents
+		  // still apply
+		  if (byMax != null) {
+				System.arraycopy(byMax, 0, columns.byMax, 0, size);
+		  } else {
+				columns.byMax = null;
+		  }
+		  columns.statsValid = statsValid;
+		  columns.maxExtent = maxExtent;
+		  columns.coverage = coverage;
+		  columns.coverageEnd = coverageEnd;
+
+		  return columns;
+	 }
+
+	 /**
+	  * Drops the cached TreeSet, interval index, max ordering and
+	  * extents.
+	  */
+	 private void changed() {
+		  view = null;
+		  maxEnds = null;
+		  byMax = null;
+		  statsValid = false;
+	 }
+
+	 /** Recomputes the max extent and coverage from the rows. */
+	 private synchronized void computeStats() {
+		  if (statsValid) return;
+		  if (! sorted) sort();
+
+		  int extent = Integer.MIN_VALUE;
+		  int covered = 0;
+		  int end = Integer.MIN_VALUE;
+		  for (int i = 0; i < size; i++) {
+				if (maxs[i] > extent) extent = maxs[i];
+				if (mins[i] > (end + 1)) {
+					 covered += (maxs[i] - mins[i]) + 1;
+					 end = maxs[i];
+				} else if (maxs[i] > end) {
+					 covered += maxs[i] - end;
+					 end = maxs[i];
+				}
+		  }
+
+		  maxExtent = extent;
+		  coverage = covered;
+		  coverageEnd = end;
+		  statsValid = true;
+	 }
+
+	 /**
+	  * Rebuilds 'byMax'.  The rows are stable sorted by their max
+	  * positions, with ties broken by the row order.
+	  */
+	 private synchronized void sortByMax() {
+		  if (byMax != null) return;
+
+		  int[] order = new int[mins.length];
+		  for (int i = 0; i < size; i++) order[i] = i;
+
+		  // rows with equal max positions stay in min order, which
+		  // matches FeatureMaxComparator
+		  int[] tmp = new int[size];
+		  mergeSortByMax(order, tmp, 0, size);
+		  byMax = order;
+	 }
+
+	 /**
+	  * Stable merge sort of the row numbers in 'order' by their max
+	  * positions, between 'lo' (inclusive) and 'hi' (exclusive).
+	  */
+	 private void mergeSortByMax(int[] order, int[] tmp, int lo, int hi) {
+		  if ((hi - lo) < 2) return;
+
+		  int mid = (lo + hi) >>> 1;
+		  mergeSortByMax(order, tmp, lo, mid);
+		  mergeSortByMax(order, tmp, mid, hi);
+
+		  // already in order, so nothing to merge
+		  if (maxs[order[mid - 1]] <= maxs[order[mid]]) return;
+
+		  System.arraycopy(order, lo, tmp, lo, hi - lo);
+		  int i = lo;
+		  int j = mid;
+		  for (int k = lo; k < hi; k++) {
+				if (i >= mid) order[k] = tmp[j++];
+				else if (j >= hi) order[k] = tmp[i++];
+				else if (maxs[tmp[j]] < maxs[tmp[i]]) order[k] = tmp[j++];
+				else order[k] = tmp[i++];
+		  }
+	 }
+
+	 /**
+	  * Compares the Features in rows 'a' and 'b' by their max
+	  * positions, then by their min positions and attributes.
+	  */
+	 private int compareByMax(int a, int b) {
+		  if (maxs[a] != maxs[b]) return (maxs[a] < maxs[b]) ? -1 : 1;
+		  return compareRows(a, b);
+	 }
+
+	 /**
+	  * Builds the interval index.  Leaves (even rows) hold their own
+	  * max position.  Each internal node at level 'k' holds the
+	  * largest max position of itself and its two children.  Nodes
+	  * whose right child is past the last row use the max position of
+	  * the last subtree instead.
+	  */
+	 private synchronized void buildIndex() {
+		  if (maxEnds != null) return;
+		  if (! sorted) sort();
+
+		  int[] ends = new int[size];
+		  if (size == 0) {
+				maxLevel = 0;
+				maxEnds = ends;
+				return;
+		  }
+
+		  int lastRow = 0;
+		  int last = 0;
+		  for (int i = 0; i < size; i += 2) {
+				lastRow = i;
+				last = ends[i] = maxs[i];
+		  }
+
+		  int k;
+		  for (k = 1; (1 << k) <= size; k++) {
+				int x = 1 << (k - 1);
+				int step = x << 2;
+				for (int i = (x << 1) - 1; i < size; i += step) {
+					 int left = ends[i - x];
+					 int right = ((i + x) < size) ? ends[i + x] : last;
+					 int end = maxs[i];
+					 if (left > end) end = left;
+					 if (right > end) end = right;
+					 ends[i] = end;
+				}
+				lastRow = (((lastRow >> k) & 1) != 0) ? lastRow - x : lastRow + x;
+				if ((lastRow < size) && (ends[lastRow] > last)) last = ends[lastRow];
+		  }
+
+		  maxLevel = k - 1;
+		  maxEnds = ends;
+	 }
+
+	 /**
+	  * Searches the interval index for Features that overlap the
+	  * positions 'min' to 'max' (inclusive).  If 'rows' is null, then
+	  * returns 'true' as soon as an overlap is found.  Otherwise, all
+	  * overlapping rows are added to 'rows', in order.
+	  */
+	 private boolean search(int min, int max, IntList rows) {
+		  if (maxEnds == null) buildIndex();
+		  if (size == 0) return false;
+		  int[] ends = maxEnds;
+
+		  // stack of nodes to visit.  'visited' is true once the left
+		  // subtree of the node has been pushed.
+		  int[] stackK = new int[64];
+		  int[] stackX = new int[64];
+		  boolean[] visited = new boolean[64];
+		  int t = 0;
+		  stackK[t] = maxLevel;
+		  stackX[t] = (1 << maxLevel) - 1;
+		  visited[t++] = false;
+
+		  boolean found = false;
+		  while (t > 0) {
+				t--;
+				int k = stackK[t];
+				int x = stackX[t];
+
+				if (k <= 3) {
+					 // small subtree, so just scan it
+					 int i0 = (x >> k) << k;
+					 int i1 = i0 + (1 << (k + 1)) - 1;
+					 if (i1 > size) i1 = size;
+					 for (int i = i0; (i < i1) && (mins[i] <= max); i++) {
+						  if (min <= maxs[i]) {
+								if (rows == null) return true;
+								rows.add(i);
+								found = true;
+						  }
+					 }
+				} else if (! visited[t]) {
+					 // revisit this node after the left subtree
+					 visited[t++] = true;
+
+					 // only search the left subtree if it could overlap
+					 int y = x - (1 << (k - 1));
+					 if ((y >= size) || (ends[y] >= min)) {
+						  stackK[t] = k - 1;
+						  stackX[t] = y;
+						  visited[t++] = false;
+					 }
+				} else if ((x < size) && (mins[x] <= max)) {
+					 // test this node, then search the right subtree
+					 if (min <= maxs[x]) {
+						  if (rows == null) return true;
+						  rows.add(x);
+						  found = true;
+					 }
+					 stackK[t] = k - 1;
+					 stackX[t] = x + (1 << (k - 1));
+					 visited[t++] = false;
+				}
+		  }
+		  return found;
+	 }
+
+	 /** Growable list of ints, used to collect rows. */
+	 private static class IntList {
+		  int[] data = new int[8];
+		  int size = 0;
+
+		  void add(int value) {
+				if (size == data.length) {
+					 int[] tmp = new int[size * 2];
+					 System.arraycopy(data, 0, tmp, 0, size);
+					 data = tmp;
+				}
+				data[size++] = value;
+		  }
+
+		  int[] toArray() {
+				int[] out = new int[size];
+				System.arraycopy(data, 0, out, 0, size);
+				return out;
+		  }
+	 }
+
+	 /**
+	  * Removes neighboring rows that compare as equal, keeping the
+	  * first row.  The rows must already be sorted.
+	  */
+	 private void removeDuplicates() {
+		  if (size < 2) return;
+
+		  boolean[] keep = new boolean[size];
+		  keep[0] = true;
+		  int last = 0;
+		  for (int i = 1; i < size; i++) {
+				if (compare(mins[i], maxs[i], hash(i), last) != 0) {
+					 keep[i] = true;
+					 last = i;
+				}
+		  }
+		  retain(keep);
+	 }
+
+	 /** Returns the attributes hashCode for 'row'. */
+	 private int hash(int row) {
+		  if ((pinned != null) && (pinned[row] != null)) {
+				return pinned[row].getAttributesHash();
+		  }
+		  return attributeTable.hash(attribs[row]);
+	 }
+
+	 /**
+	  * Compares a Feature, given by its min, max and attributes hash,
+	  * to the Feature in 'row'.  This follows
+	  * FeatureUtils.compareFeatures() for Features on the same
+	  * Sequence.
+	  */
+	 private int compare(int min, int max, int hash, int row) {
+		  if (min != mins[row]) return (min < mins[row]) ? -1 : 1;
+		  if (max != maxs[row]) return (max < maxs[row]) ? -1 : 1;
+
+		  // min and max are equal, so only the attributes can differ
+		  if (GloDBUtils.ignoreAttributes()) return 0;
+		  int rowHash = hash(row);
+		  if (hash != rowHash) return (hash < rowHash) ? -1 : 1;
+		  return 0;
+	 }
+
+	 /** Compares the Features in rows 'a' and 'b'. */
+	 private int compareRows(int a, int b) {
+		  return compare(mins[a], maxs[a], hash(a), b);
+	 }
+
+	 /**
+	  * Sorts the rows and removes duplicates.  The sort is stable, so
+	  * as with a TreeSet, the first of a set of duplicates added is the
+	  * one kept.
+	  */
+	 private synchronized void sort() {
+		  if (sorted) return;
+		  if (size < 2) {
+				sorted = true;
+				return;
+		  }
+
+		  int[] order = new int[size];
+		  for (int i = 0; i < size; i++) order[i] = i;
+		  mergeSort(order, new int[size], 0, size);
+
+		  int[] newMins = new int[mins.length];
+		  int[] newMaxs = new int[mins.length];
+		  int[] newAttribs = new int[mins.length];
+		  Feature[] newPinned = (pinned == null) ? null : new Feature[mins.length];
+
+		  int n = 0;
+		  int last = -1;
+		  for (int i = 0; i < size; i++) {
+				int row = order[i];
+				// skip duplicates
+				if ((last != -1) && (compareRows(row, last) == 0)) continue;
+
+				newMins[n] = mins[row];
+				newMaxs[n] = maxs[row];
+				newAttribs[n] = attribs[row];
+				if (newPinned != null) newPinned[n] = pinned[row];
+				last = row;
+				n++;
+		  }
+
+		  mins = newMins;
+		  maxs = newMaxs;
+		  attribs = newAttribs;
+		  pinned = newPinned;
+		  size = n;
+		  changed();
+		  sorted = true;
+	 }
+
+	 /**
+	  * Stable merge sort of the row numbers in 'order', between 'lo'
+	  * (inclusive) and 'hi' (exclusive).  Runs that are already in
+	  * order are not merged, so mostly sorted rows sort quickly.
+	  */
+	 private void mergeSort(int[] order, int[] tmp, int lo, int hi) {
+		  if ((hi - lo) < 8) {
+				// insertion sort for small ranges
+				for (int i = lo + 1; i < hi; i++) {
+					 int row = order[i];
+					 int j = i - 1;
+					 while ((j >= lo) && (compareRows(order[j], row) > 0)) {
+						  order[j + 1] = order[j];
+						  j--;
+					 }
+					 order[j + 1] = row;
+				}
+				return;
+		  }
+
+		  int mid = (lo + hi) >>> 1;
+		  mergeSort(order, tmp, lo, mid);
+		  mergeSort(order, tmp, mid, hi);
+
+		  // already in order, so nothing to merge
+		  if (compareRows(order[mid - 1], order[mid]) <= 0) return;
+
+		  System.arraycopy(order, lo, tmp, lo, hi - lo);
+		  int i = lo;
+		  int j = mid;
+		  for (int k = lo; k < hi; k++) {
+				if (i >= mid) order[k] = tmp[j++];
+				else if (j >= hi) order[k] = tmp[i++];
+				else if (compareRows(tmp[j], tmp[i]) < 0) order[k] = tmp[j++];
+				else order[k] = tmp[i++];
+		  }
+	 }
+
+	 /** Grows the column arrays to hold at least 'capacity' rows. */
+	 private void ensureCapacity(int capacity) {
+		  if (capacity <= mins.length) return;
+
+		  int newLength = mins.length * 2;
+		  if (newLength < capacity) newLength = capacity;
+
+		  int[] tmp = new int[newLength];
+		  System.arraycopy(mins, 0, tmp, 0, size);
+		  mins = tmp;
+
+		  tmp = new int[newLength];
+		  System.arraycopy(maxs, 0, tmp, 0, size);
+		  maxs = tmp;
+
+		  tmp = new int[newLength];
+		  System.arraycopy(attribs, 0, tmp, 0, size);
+		  attribs = tmp;
+
+		  if (byMax != null) {
+				tmp = new int[newLength];
+				System.arraycopy(byMax, 0, tmp, 0, size);
+				byMax = tmp;
+		  }
+
+		  if (pinned != null) {
+				Feature[] tmpPinned = new Feature[newLength];
+				System.arraycopy(pinned, 0, tmpPinned, 0, size);
+				pinned = tmpPinned;
+		  }
+	 }
+
+} // FeatureColumns.java
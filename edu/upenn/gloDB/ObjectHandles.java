@@ -1,371 +1,623 @@
-/*
- * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
- * Pennsylvania.
- *
- * This file is part of Glo-DB.
- * 
- * Glo-DB is free software: you can redistribute it and/or modify it
- * under the terms of the GNU General Public License as published by
- * the Free Software Foundation, either version 3 of the License, or
- * (at your option) any later version.
- * 
- * Glo-DB is distributed in the hope that it will be useful, but
- * WITHOUT ANY WARRANTY; without even the implied warranty of
- * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
- * General Public License for more details.
- * 
- * You should have received a copy of the GNU General Public License
- * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
- *
- * @(#)ObjectHandles.java
- */
-
-package edu.upenn.gloDB;
-
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.Iterator;
-import javax.swing.*;
-
-/**
- * ObjectHandles.
- *
- * @author  Stephen Fisher
- * @version $Id: ObjectHandles.java,v 1.15.2.13 2007/03/01 21:17:33 fisher Exp $
- */
-
-public class ObjectHandles { 
-
-	 /** 
-	  * The HashMap of all existing Tracks.  It is made public so that
-	  * the user can directly access the Tracks to test if a specific
-	  * Track is in the set and to remove Tracks from the HashMap in
-	  * the case of deleting the Track.  When deleting Tracks, it is
-	  * necessary to remove the Track from the trackPool.  While new
-	  * Tracks are added to the trackPool by default, it is possible to
-	  * create a Track and not have it added to the trackPool.  This
-	  * should be avoided as certain functions require the Track to
-	  * exist in the trackPool.
-	  */
-	 public static HashMap trackPool = new HashMap();
-
-	 /**
-	  * The set of all existing Feature objects (Fuzzy and Exact).  It
-	  * is made public so that the user can directly access the
-	  * Features to test if a specific Feature is in the set and to
-	  * remove Features from the set in the case of deleting the
-	  * Feature. When removing Features, they must be removed from the
-	  * featurePool.  While new Features are added to the featurePool
-	  * by default, it is possible to create a Feature and not have it
-	  * added to the featurePool. This should be avoided as certain
-	  * functions require the Feature to exist in the featurePool.
-	  */
-	 //	 private static HashSet featurePool = new HashSet();
-
-	 /** 
-	  * The set of all existing Sequences.  It is made public so that
-	  * the user can directly access the tracks to test if a specific
-	  * Sequence is in the set and to remove Sequences from the set in
-	  * the case of deleting the Sequence.  When removing Sequences,
-	  * they must be removed from the sequencePool.  While new
-	  * Sequences are added to the sequencePool by default, it is
-	  * possible to create a Sequence and not have it added to the
-	  * sequencePool. This should be avoided as certain functions
-	  * require the Sequence to exist in the sequencePool.
-	  */
-	 public static HashMap sequencePool = new HashMap();
-
-	 /**
-	  * This is a duplicate list of Tracks in the trackPool.  It is
-	  * used by the GUI.
-	  */
-	 private static DefaultComboBoxModel trackList = new DefaultComboBoxModel();
-
-	 /**
-	  * This is a duplicate list of Features in the featurePool.  It is
-	  * used by the GUI.
-	  */
-	 //	 private static DefaultListModel featureList = new DefaultListModel();
-
-	 /**
-	  * This is a duplicate list of Sequences in the sequencePool.  It is
-	  * used by the GUI.
-	  */
-	 private static DefaultComboBoxModel sequenceList = new DefaultComboBoxModel();
-
-	 /**
-	  * This is a list of all Tracks in the trackPool, that contain
-	  * each Sequence.  It is used by the GUI.
-	  */
-	 public static HashMap trackBySequenceList = new HashMap();
-
-    //--------------------------------------------------------------------------
-    // Setters and Getters
-   
-    /** Get the trackPool. */
-    public static HashMap getTrackPool() { return trackPool; }
-
-    /** Get the trackList. */
-    public static DefaultComboBoxModel getTrackList() { return trackList; }
-
-    /** Get the featurePool. */
-	 //    public static HashSet getFeaturePool() { return featurePool; }
-
-    /** Get the featureList. */
-	 //    public static DefaultListModel getFeatureList() { return featureList; }
-
-    /** Get the sequencePool. */
-    public static HashMap getSequencePool() { return sequencePool; }
-
-    /** Get the sequenceList. */
-    public static DefaultComboBoxModel getSequenceList() { return sequenceList; }
-
-    //--------------------------------------------------------------------------
-    // Miscellaneous Methods
-
-	 /** Add a Tracks to the trackPool. */
-	 public static void addTrack(Track track) throws InvalidIDException { 
-		  String id = track.getID();
-		  if (trackPool.containsKey(id)) {
-				String msg = "ID \"" + id + "\" already exists in trackPool.";
-				throw new InvalidIDException(msg);
-		  }
-
-		  // add Track to trackPool
-		  trackPool.put(id, track); 
-
-		  // add Track to trackList, for GUI
-		  trackList.addElement(id);
-
-		  // add Track to appropriate trackLists in
-		  // trackBySequenceList
-		  Set sources = track.getSourceSet();
-		  if (sources != null) {
-				TreeSet trackSet;
-				for (Iterator i = sources.iterator(); i.hasNext();) {
-					 String sequence = (String) i.next(); 
-					 if (trackBySequenceList.containsKey(sequence)) {
-						  trackSet = (TreeSet) trackBySequenceList.get(sequence);
-					 } else {
-						  // we should never reach this point -- empty DLMs
-						  // should be created when Sequences are added to
-						  // sequencePool.
-						  trackSet = new TreeSet();
-					 }
-					 trackSet.add(id);
-					 trackBySequenceList.put(sequence, trackSet);
-				}
-		  }
-	 }
-
-	 /** Removes the Track object for trackPool and other relevant lists. */
-	 public static void removeTrack(String id) {
-		  Track track = getTrack(id);
-		  if (track != null) removeTrack(track);
-	 }
-
-	 /** Removes the Track object for trackPool and other relevant lists. */
-	 public static void removeTrack(Track track) {
-		  String id = track.getID();
-
-		  // if not in trackPool, then not in any lists
-		  if (trackPool.containsKey(id)) {
-				// remove from trackPool
-				trackPool.remove(id);
-
-				// remove from trackList
-				trackList.removeElement(id);
-
-				// remove from trackBySequenceList
-				Set sources = track.getSourceSet();
-				if (sources != null) {
-					 TreeSet trackSet;
-					 for (Iterator i = sources.iterator(); i.hasNext();) {
-						  String sequence = (String) i.next(); 
-						  // this test should be unnecessary, as must be in
-						  // trackList if in trackPool
-						  if (trackBySequenceList.containsKey(sequence)) {
-								trackSet = (TreeSet) trackBySequenceList.get(sequence);
-								trackSet.remove(id);
-								trackBySequenceList.put(sequence, trackSet);
-						  }
-					 }
-				}
-		  }
-	 }
-
-	 /** Rebuilds the Track relevant lists. */
-	 public static void rebuildTrack(Track track) {
-		  removeTrack(track);
-		  addTrack(track);
-	 }
-
-	 /** 
-	  * Returns true if the Track object exists in the trackPool.
-	  */
-	 public static boolean containsTrack(String id) { 
-		  if (id == "") return false;
-		  else return trackPool.containsKey(id); 
-	 }
-
-	 /** 
-	  * Returns the Track object for the given ID. 
-	  * @XXX Should throw an exception if 'id' is not found.
-	  */
-	 public static Track getTrack(String id) { 
-		  if (id == "") return null;
-		  else return (Track) trackPool.get(id); 
-	 }
-
-	 /** Returns a iterator over all Tracks in trackPool. */
-	 public static Iterator trackIterator() { return trackPool.values().iterator(); }
-
-	 /** 
-	  * Changes the Track's ID in trackPool, trackList, and
-	  * trackBySequenceList.
-	  */
-	 public static void renameTrack(String oldID, String newID) { 
-		  Track track = getTrack(oldID);
-
-		  // make sure track exists
-		  if (track == null) {
-				GloDBUtils.printError("Track \"" + oldID + "\" not found.");
-				return;
-		  }
-
-		  renameTrack(track, newID);
-	 }
-
-	 /** 
-	  * Changes the Track's ID in trackPool, trackList, and
-	  * trackBySequenceList.
-	  */
-	 public static void renameTrack(Track track, String newID) { 
-		  // make sure track exists
-		  if (track == null) {
-				GloDBUtils.printError("Null track, can not be renamed.");
-				return;
-		  }
-
-		  // check to make sure ID doesn't already exist in trackPool
-		  if (trackPool.containsKey(newID)) {
-				String msg = "ID \"" + newID + "\" already exists in trackPool.";
-				throw new InvalidIDException(msg);
-		  }
-
-		  // remove the Track from trackPool and other relevant lists.
-		  removeTrack(track);
-
-		  // change ID and add to trackPool
-		  track.id = newID;
-		  addTrack(track);
-	 }
-
-    /** 
-	  * Get the trackList that contains all Tracks with the given
-	  * Sequence.
-	  */
-    public static TreeSet getTrackBySequenceList(String id) { 
-		  return (TreeSet) trackBySequenceList.get(id); 
-	 }
-
-
-	 /** Add a Feature to the featurePool. */
-	 public static void addFeature(Feature feature) { 
-		  //		  featurePool.add(feature); 
-		  //		  featureList.addElement(feature);
-	 }
-
-	 /** Returns a iterator over all Features in featurePool. */
-	 //	 public static Iterator featureIterator() { return featurePool.iterator(); }
-
-
-	 /** Add a Sequence to the sequencePool. */
-	 public static void addSequence(Sequence sequence) throws InvalidIDException {
-		  String id = sequence.getID();
-		  if (sequencePool.containsKey(id)) {
-				String msg = "ID \"" + id + "\" already exists in sequencePool.";
-				throw new InvalidIDException(msg);
-		  }
-			  
-		  // add Sequence to sequencePool
-		  sequencePool.put(id, sequence);
-
-		  // add Sequence to sequenceList, for GUI
-		  sequenceList.addElement(id);
-
-		  // make sure the Sequence is represented in trackBySequenceList
-		  if (! trackBySequenceList.containsKey(id)) {
-				trackBySequenceList.put(id, new TreeSet());
-		  }
-	 }
-
-	 /** Removes the Sequence object for sequencePool and other relevant lists. */
-	 public static void removeSequence(Sequence sequence) {
-		  String id = sequence.getID();
-
-		  // if not in sequencePool, then not in any lists
-		  if (sequencePool.containsKey(id)) {
-				// remove from sequencePool
-				sequencePool.remove(id);
-
-				// remove from sequenceList
-				sequenceList.removeElement(id);
-		  }
-	 }
-
-	 /** 
-	  * Returns true if the Sequence object exists in the sequencePool.
-	  */
-	 public static boolean containsSequence(String id) { 
-		  if (id == "") return false;
-		  else return sequencePool.containsKey(id); 
-	 }
-
-	 /** Returns a iterator over all Sequences in sequencePool. */
-	 public static Iterator sequenceIterator() { return sequencePool.values().iterator(); }
-
-	 /** 
-	  * Returns the Sequence object for the given ID. 
-	  * @XXX Should throw an exception if 'id' is not found.
-	  */
-	 public static Sequence getSequence(String id) { 
-		  if (id == "") return null;
-		  else return (Sequence) sequencePool.get(id); 
-	 }
-
-	 /*
-	  * Changes the Sequence's ID in sequencePool, sequenceList, and
-	  * trackBySequenceList.
-	  * @XXX WARNING, this needs to change the relevant Feature.source
-	  * values when the sequence ID changes.
-	  * @XXX could only allow this if trackSet is empty but that might
-	  * be confusing
-	  */
-	 /*
-	 public static void renameSequence(Sequence sequence, String newID) { 
-		  // check to make sure ID doesn't already exist in sequencePool
-		  if (sequencePool.containsKey(newID)) {
-				String msg = "ID \"" + newID + "\" already exists in sequencePool.";
-				throw new InvalidIDException(msg);
-		  }
-
-		  // remove the Sequence from sequencePool and other relevant lists
-		  removeSequence(sequence);
-
-		  // update the sequence reference in trackBySequenceList
-		  String oldID = sequence.getID();
-		  if (trackBySequenceList.containsKey(oldID)) {
-				TreeSet trackSet = (TreeSet) trackBySequenceList.get(oldID);
-				trackBySequenceList.remove(oldID);
-				trackBySequenceList.put(newID, trackSet);
-		  }
-				
-		  // change ID and add to sequencePool
-		  sequence.id = newID;
-		  addSequence(sequence);
-	 }
-	 */
-} // ObjectHandles.java
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ * 
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * 
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ * 
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)ObjectHandles.java
+ */
+
+package edu.upenn.gloDB;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.swing.*;
+
+/**
+ * ObjectHandles.  The pools are concurrent maps, so Tracks and
+ * Sequences can be added, removed and looked up from more than one
+ * thread.  The GUI's list models are only created when the GUI asks
+ * for them and are updated on the Swing event dispatch thread, using
+ * a {@link PoolListener PoolListener}.
+ *
+ * @author  Stephen Fisher
+ * @version $Id: ObjectHandles.java,v 1.15.2.13 2007/03/01 21:17:33 fisher Exp $
+ */
+
+public class ObjectHandles { 
+
+	 /** 
+	  * The map of all existing Tracks.  It is made public so that
+	  * the user can directly access the Tracks to test if a specific
+	  * Track is in the set and to remove Tracks from the map in
+	  * the case of deleting the Track.  When deleting Tracks, it is
+	  * necessary to remove the Track from the trackPool.  While new
+	  * Tracks are added to the trackPool by default, it is possible to
+	  * create a Track and not have it added to the trackPool.  This
+	  * should be avoided as certain functions require the Track to
+	  * exist in the trackPool.
+	  */
+	 public static ConcurrentHashMap trackPool = new ConcurrentHashMap();
+
+	 /**
+	  * The set of all existing Feature objects (Fuzzy and Exact).  It
+	  * is made public so that the user can directly access the
+	  * Features to test if a specific Feature is in the set and to
+	  * remove Features from the set in the case of deleting the
+	  * Feature. When removing Features, they must be removed from the
+	  * featurePool.  While new Features are added to the featurePool
+	  * by default, it is possible to create a Feature and not have it
+	  * added to the featurePool. This should be avoided as certain
+	  * functions require the Feature to exist in the featurePool.
+	  */
+	 //	 private static HashSet featurePool = new HashSet();
+
+	 /** 
+	  * The set of all existing Sequences.  It is made public so that
+	  * the user can directly access the tracks to test if a specific
+	  * Sequence is in the set and to remove Sequences from the set in
+	  * the case of deleting the Sequence.  When removing Sequences,
+	  * they must be removed from the sequencePool.  While new
+	  * Sequences are added to the sequencePool by default, it is
+	  * possible to create a Sequence and not have it added to the
+	  * sequencePool. This should be avoided as certain functions
+	  * require the Sequence to exist in the sequencePool.
+	  */
+	 public static ConcurrentHashMap sequencePool = new ConcurrentHashMap();
+
+	 /**
+	  * This is a duplicate list of Tracks in the trackPool.  It is
+	  * used by the GUI and is null until the GUI asks for it.
+	  */
+	 private static DefaultComboBoxModel trackList = null;
+
+	 /**
+	  * This is a duplicate list of Features in the featurePool.  It is
+	  * used by the GUI.
+	  */
+	 //	 private static DefaultListModel featureList = new DefaultListModel();
+
+	 /**
+	  * This is a duplicate list of Sequences in the sequencePool.  It
+	  * is used by the GUI and is null until the GUI asks for it.
+	  */
+	 private static DefaultComboBoxModel sequenceList = null;
+
+	 /**
+	  * This is a list of all Tracks in the trackPool, that contain
+	  * each Sequence.  It is used by the GUI.  Each Sequence's set of
+	  * Track IDs is a separate concurrent set, so Tracks on different
+	  * Sequences don't contend for the same set.
+	  */
+	 public static ConcurrentHashMap trackBySequenceList = new ConcurrentHashMap();
+
+	 /** The PoolListeners to notify when the pools change. */
+	 private static CopyOnWriteArrayList listeners = new CopyOnWriteArrayList();
+
+	 /**
+	  * Map of Sequence IDs to their source ordinal (as an Integer).
+	  * Each distinct Sequence ID is given a unique int, so Features
+	  * can test if they are on the same Sequence without comparing
+	  * Strings.  Ordinals start at 1 and are never reused.
+	  */
+	 private static ConcurrentHashMap sourceOrdinals = new ConcurrentHashMap();
+
+	 /** 
+	  * The Sequence IDs, indexed by their source ordinal.  Index 0 is
+	  * unused.  The array is copied when it grows, and a new ID is
+	  * stored before its ordinal is added to 'sourceOrdinals', so the
+	  * IDs can be read without a lock.
+	  */
+	 private static volatile String[] sourceIDs = new String[16];
+
+	 /** Number of entries used in 'sourceIDs', including index 0. */
+	 private static int numSourceIDs = 1;
+
+	 /** 
+	  * The Sequences in the sequencePool, indexed by their source
+	  * ordinal.  This lets Features find their Sequence without a
+	  * HashMap lookup.  Changes are made under the class lock and then
+	  * published by writing this field again, so that getSequence(int)
+	  * can read it without locking.
+	  */
+	 private static volatile Sequence[] sequencesByOrdinal = new Sequence[16];
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+   
+    /** Get the trackPool. */
+    public static Map getTrackPool() { return trackPool; }
+
+	 /**
+	  * Get the trackList.  The list is created on first use.  It
+	  * should only be used on the Swing event dispatch thread.
+	  */
+	 public static DefaultComboBoxModel getTrackList() { 
+		  if (trackList == null) createLists();
+		  return trackList; 
+	 }
+
+    /** Get the featurePool. */
+	 //    public static HashSet getFeaturePool() { return featurePool; }
+
+    /** Get the featureList. */
+	 //    public static DefaultListModel getFeatureList() { return featureList; }
+
+    /** Get the sequencePool. */
+    public static Map getSequencePool() { return sequencePool; }
+
+	 /**
+	  * Get the sequenceList.  The list is created on first use.  It
+	  * should only be used on the Swing event dispatch thread.
+	  */
+	 public static DefaultComboBoxModel getSequenceList() { 
+		  if (sequenceList == null) createLists();
+		  return sequenceList; 
+	 }
+
+	 /** Add a PoolListener to be notified when the pools change. */
+	 public static void addPoolListener(PoolListener listener) { listeners.add(listener); }
+
+	 /** Remove a PoolListener. */
+	 public static void removePoolListener(PoolListener listener) { listeners.remove(listener); }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /** Add a Tracks to the trackPool. */
+	 public static void addTrack(Track track) throws InvalidIDException { 
+		  String id = track.getID();
+
+		  // add Track to trackPool, unless the ID is already used
+		  if (trackPool.putIfAbsent(id, track) != null) {
+				String msg = "ID \"" + id + "\" already exists in trackPool.";
+				throw new InvalidIDException(msg);
+		  }
+
+		  // add Track to appropriate trackLists in
+		  // trackBySequenceList
+		  addTrackSources(track);
+
+		  // add Track to trackList, for GUI
+		  for (Iterator i = listeners.iterator(); i.hasNext();) {
+				((PoolListener) i.next()).trackAdded(id);
+		  }
+	 }
+
+	 /** Removes the Track object for trackPool and other relevant lists. */
+	 public static void removeTrack(String id) {
+		  Track track = getTrack(id);
+		  if (track != null) removeTrack(track);
+	 }
+
+	 /** Removes the Track object for trackPool and other relevant lists. */
+	 public static void removeTrack(Track track) {
+		  String id = track.getID();
+
+		  // remove from trackPool.  If not in trackPool, then not in
+		  // any lists
+		  if (trackPool.remove(id, track)) {
+				// remove from trackBySequenceList
+				removeTrackSources(id);
+
+				// remove from trackList
+				for (Iterator i = listeners.iterator(); i.hasNext();) {
+					 ((PoolListener) i.next()).trackRemoved(id);
+				}
+		  }
+	 }
+
+	 /** 
+	  * Rebuilds the Track relevant lists.  The Track's ID doesn't
+	  * change, so only trackBySequenceList needs to be updated.
+	  */
+	 public static void rebuildTrack(Track track) {
+		  String id = track.getID();
+		  if (trackPool.get(id) != track) return;
+
+		  removeTrackSources(id);
+		  addTrackSources(track);
+	 }
+
+	 /** Adds the Track's ID to the trackBySequenceList sets. */
+	 private static void addTrackSources(Track track) {
+		  Set sources = track.getSourceSet();
+		  if (sources == null) return;
+
+		  for (Iterator i = sources.iterator(); i.hasNext();) {
+				getTrackSet((String) i.next()).add(track.getID());
+		  }
+	 }
+
+	 /**
+	  * Removes the Track ID from all of the trackBySequenceList sets.
+	  * All sets are checked, since the Track's Sequences may have
+	  * changed since it was added.
+	  */
+	 private static void removeTrackSources(String id) {
+		  for (Iterator i = trackBySequenceList.values().iterator(); i.hasNext();) {
+				((SortedSet) i.next()).remove(id);
+		  }
+	 }
+
+	 /**
+	  * Returns the set of Track IDs for the Sequence 'id', creating
+	  * the set if necessary.
+	  */
+	 private static SortedSet getTrackSet(String id) {
+		  SortedSet trackSet = (SortedSet) trackBySequenceList.get(id);
+		  if (trackSet == null) {
+				trackSet = new ConcurrentSkipListSet();
+				SortedSet current = (SortedSet) trackBySequenceList.putIfAbsent(id, trackSet);
+				if (current != null) trackSet = current;
+		  }
+		  return trackSet;
+	 }
+
+	 /** 
+	  * Returns true if the Track object exists in the trackPool.
+	  */
+	 public static boolean containsTrack(String id) { 
+		  if ((id == null) || (id == "")) return false;
+		  else return trackPool.containsKey(id); 
+	 }
+
+	 /** 
+	  * Returns the Track object for the given ID. 
+	  * @XXX Should throw an exception if 'id' is not found.
+	  */
+	 public static Track getTrack(String id) { 
+		  if ((id == null) || (id == "")) return null;
+		  else return (Track) trackPool.get(id); 
+	 }
+
+	 /** Returns a iterator over all Tracks in trackPool. */
+	 public static Iterator trackIterator() { return trackPool.values().iterator(); }
+
+	 /** 
+	  * Changes the Track's ID in trackPool, trackList, and
+	  * trackBySequenceList.
+	  */
+	 public static void renameTrack(String oldID, String newID) { 
+		  Track track = getTrack(oldID);
+
+		  // make sure track exists
+		  if (track == null) {
+				GloDBUtils.printError("Track \"" + oldID + "\" not found.");
+				return;
+		  }
+
+		  renameTrack(track, newID);
+	 }
+
+	 /** 
+	  * Changes the Track's ID in trackPool, trackList, and
+	  * trackBySequenceList.
+	  */
+	 public static void renameTrack(Track track, String newID) { 
+		  // make sure track exists
+		  if (track == null) {
+				GloDBUtils.printError("Null track, can not be renamed.");
+				return;
+		  }
+
+		  // check to make sure ID doesn't already exist in trackPool
+		  if (trackPool.containsKey(newID)) {
+				String msg = "ID \"" + newID + "\" already exists in trackPool.";
+				throw new InvalidIDException(msg);
+		  }
+
+		  // remove the Track from trackPool and other relevant lists.
+		  removeTrack(track);
+
+		  // change ID and add to trackPool
+		  String oldID = track.id;
+		  track.id = newID;
+		  try {
+				addTrack(track);
+		  } catch (InvalidIDException e) {
+				// another thread took 'newID', so put the Track back
+				track.id = oldID;
+				addTrack(track);
+				throw e;
+		  }
+	 }
+
+    /** 
+	  * Get the trackList that contains all Tracks with the given
+	  * Sequence.
+	  */
+    public static SortedSet getTrackBySequenceList(String id) { 
+		  if (id == null) return null;
+		  else return (SortedSet) trackBySequenceList.get(id); 
+	 }
+
+
+	 /**
+	  * Returns the source ordinal for the Sequence ID 'id', creating a
+	  * new ordinal if 'id' hasn't been seen before.
+	  */
+	 public static int getSourceOrdinal(String id) { 
+		  Integer ordinal = (Integer) sourceOrdinals.get(id);
+		  if (ordinal == null) return addSourceOrdinal(id);
+		  return ordinal.intValue();
+	 }
+
+	 /**
+	  * Creates a new source ordinal for the Sequence ID 'id', unless
+	  * another thread has already done so.
+	  */
+	 private static synchronized int addSourceOrdinal(String id) { 
+		  Integer ordinal = (Integer) sourceOrdinals.get(id);
+		  if (ordinal != null) return ordinal.intValue();
+
+		  String[] ids = sourceIDs;
+		  if (numSourceIDs == ids.length) {
+				String[] tmp = new String[ids.length * 2];
+				System.arraycopy(ids, 0, tmp, 0, ids.length);
+				ids = tmp;
+		  }
+		  ids[numSourceIDs] = id;
+		  sourceIDs = ids;
+
+		  ordinal = Integer.valueOf(numSourceIDs++);
+		  sourceOrdinals.put(id, ordinal);
+		  return ordinal.intValue();
+	 }
+
+	 /**
+	  * Returns the source ordinal for the Sequence ID 'id', or 0 if
+	  * 'id' hasn't been given an ordinal.  Unlike getSourceOrdinal(),
+	  * this won't create a new ordinal.
+	  */
+	 public static int findSourceOrdinal(String id) { 
+		  if (id == null) return 0;
+
+		  Integer ordinal = (Integer) sourceOrdinals.get(id);
+		  if (ordinal == null) return 0;
+		  else return ordinal.intValue();
+	 }
+
+	 /**
+	  * Returns the Sequence ID for the source ordinal 'ordinal', or
+	  * null if the ordinal doesn't exist.
+	  */
+	 public static String getSourceID(int ordinal) { 
+		  String[] ids = sourceIDs;
+		  if ((ordinal <= 0) || (ordinal >= ids.length)) return null;
+		  else return ids[ordinal];
+	 }
+
+	 /** Add a Feature to the featurePool. */
+	 public static void addFeature(Feature feature) { 
+		  //		  featurePool.add(feature); 
+		  //		  featureList.addElement(feature);
+	 }
+
+	 /** Returns a iterator over all Features in featurePool. */
+	 //	 public static Iterator featureIterator() { return featurePool.iterator(); }
+
+
+	 /** Add a Sequence to the sequencePool. */
+	 public static void addSequence(Sequence sequence) throws InvalidIDException {
+		  String id = sequence.getID();
+
+		  // add Sequence to sequencePool, unless the ID is already used
+		  if (sequencePool.putIfAbsent(id, sequence) != null) {
+				String msg = "ID \"" + id + "\" already exists in sequencePool.";
+				throw new InvalidIDException(msg);
+		  }
+
+		  // index the Sequence by its ordinal
+		  int ordinal = sequence.getOrdinal();
+		  synchronized (ObjectHandles.class) {
+				Sequence[] sequences = sequencesByOrdinal;
+				if (ordinal >= sequences.length) {
+					 Sequence[] tmp = new Sequence[Math.max(ordinal + 1, sequences.length * 2)];
+					 System.arraycopy(sequences, 0, tmp, 0, sequences.length);
+					 sequences = tmp;
+				}
+				sequences[ordinal] = sequence;
+				sequencesByOrdinal = sequences;
+		  }
+
+		  // make sure the Sequence is represented in trackBySequenceList
+		  getTrackSet(id);
+
+		  // add Sequence to sequenceList, for GUI
+		  for (Iterator i = listeners.iterator(); i.hasNext();) {
+				((PoolListener) i.next()).sequenceAdded(id);
+		  }
+	 }
+
+	 /** Removes the Sequence object for sequencePool and other relevant lists. */
+	 public static void removeSequence(Sequence sequence) {
+		  String id = sequence.getID();
+
+		  // remove from sequencePool.  If not in sequencePool, then not
+		  // in any lists
+		  if (sequencePool.remove(id, sequence)) {
+				// remove from the ordinal index
+				int ordinal = sequence.getOrdinal();
+				synchronized (ObjectHandles.class) {
+					 Sequence[] sequences = sequencesByOrdinal;
+					 if (ordinal < sequences.length) sequences[ordinal] = null;
+					 sequencesByOrdinal = sequences;
+				}
+
+				// remove from sequenceList
+				for (Iterator i = listeners.iterator(); i.hasNext();) {
+					 ((PoolListener) i.next()).sequenceRemoved(id);
+				}
+		  }
+	 }
+
+	 /** 
+	  * Returns true if the Sequence object exists in the sequencePool.
+	  */
+	 public static boolean containsSequence(String id) { 
+		  if ((id == null) || (id == "")) return false;
+		  else return sequencePool.containsKey(id); 
+	 }
+
+	 /** Returns a iterator over all Sequences in sequencePool. */
+	 public static Iterator sequenceIterator() { return sequencePool.values().iterator(); }
+
+	 /** 
+	  * Returns the Sequence object for the given ID. 
+	  * @XXX Should throw an exception if 'id' is not found.
+	  */
+	 public static Sequence getSequence(String id) { 
+		  if ((id == null) || (id == "")) return null;
+		  else return (Sequence) sequencePool.get(id); 
+	 }
+
+	 /** 
+	  * Returns the Sequence object in the sequencePool with the source
+	  * ordinal 'ordinal', or null if there is no such Sequence.
+	  */
+	 public static Sequence getSequence(int ordinal) { 
+		  Sequence[] sequences = sequencesByOrdinal;
+		  if ((ordinal <= 0) || (ordinal >= sequences.length)) return null;
+		  else return sequences[ordinal];
+	 }
+
+	 /**
+	  * Creates the trackList and sequenceList, for the GUI, and
+	  * registers a ListUpdater to keep them up to date.  The lists are
+	  * filled with the IDs currently in the pools, in sorted order.
+	  */
+	 private static synchronized void createLists() {
+		  if (trackList != null) return;
+
+		  // register first, so that no changes are missed.  Changes that
+		  // are also in the initial IDs are ignored by the ListUpdater.
+		  DefaultComboBoxModel tracks = new DefaultComboBoxModel();
+		  DefaultComboBoxModel sequences = new DefaultComboBoxModel();
+		  addPoolListener(new ListUpdater(tracks, sequences));
+
+		  Object[] ids = trackPool.keySet().toArray();
+		  Arrays.sort(ids);
+		  for (int i = 0; i < ids.length; i++) tracks.addElement(ids[i]);
+
+		  ids = sequencePool.keySet().toArray();
+		  Arrays.sort(ids);
+		  for (int i = 0; i < ids.length; i++) sequences.addElement(ids[i]);
+
+		  sequenceList = sequences;
+		  trackList = tracks;
+	 }
+
+	 /**
+	  * Keeps the GUI's trackList and sequenceList up to date.  The
+	  * pools can be changed on any thread, so the changes are queued
+	  * and then applied together on the Swing event dispatch thread.
+	  * Only one batch is scheduled at a time, so loading many Tracks
+	  * or Sequences doesn't flood the event queue.
+	  */
+	 private static class ListUpdater implements PoolListener, Runnable {
+		  private DefaultComboBoxModel tracks;
+		  private DefaultComboBoxModel sequences;
+
+		  /**
+		   * The queued changes, in order.  Each change is the model, the
+		   * ID and Boolean.TRUE to add the ID or Boolean.FALSE to remove
+		   * it.
+		   */
+		  private ArrayList pending = new ArrayList();
+
+		  ListUpdater(DefaultComboBoxModel tracks, DefaultComboBoxModel sequences) {
+				this.tracks = tracks;
+				this.sequences = sequences;
+		  }
+
+		  public void trackAdded(String id) { queue(tracks, id, Boolean.TRUE); }
+		  public void trackRemoved(String id) { queue(tracks, id, Boolean.FALSE); }
+		  public void sequenceAdded(String id) { queue(sequences, id, Boolean.TRUE); }
+		  public void sequenceRemoved(String id) { queue(sequences, id, Boolean.FALSE); }
+
+		  private void queue(DefaultComboBoxModel model, String id, Boolean add) {
+				synchronized (pending) {
+					 pending.add(new Object[] { model, id, add });
+
+					 // a batch is already scheduled
+					 if (pending.size() > 1) return;
+				}
+				SwingUtilities.invokeLater(this);
+		  }
+
+		  /** Applies the queued changes, on the event dispatch thread. */
+		  public void run() {
+				Object[] changes;
+				synchronized (pending) {
+					 changes = pending.toArray();
+					 pending.clear();
+				}
+
+				for (int i = 0; i < changes.length; i++) {
+					 Object[] change = (Object[]) changes[i];
+					 DefaultComboBoxModel model = (DefaultComboBoxModel) change[0];
+					 if (change[2] == Boolean.TRUE) {
+						  if (model.getIndexOf(change[1]) == -1) model.addElement(change[1]);
+					 } else {
+						  model.removeElement(change[1]);
+					 }
+				}
+		  }
+	 }
+
+	 /*
+	  * Changes the Sequence's ID in sequencePool, sequenceList, and
+	  * trackBySequenceList.
+	  * @XXX WARNING, this needs to change the relevant Feature.source
+	  * values when the sequence ID changes.
+	  * @XXX could only allow this if trackSet is empty but that might
+	  * be confusing
+	  */
+	 /*
+	 public static void renameSequence(Sequence sequence, String newID) { 
+		  // check to make sure ID doesn't already exist in sequencePool
+		  if (sequencePool.containsKey(newID)) {
+				String msg = "ID \"" + newID + "\" already exists in sequencePool.";
+				throw new InvalidIDException(msg);
+		  }
+
+		  // remove the Sequence from sequencePool and other relevant lists
+		  removeSequence(sequence);
+
+		  // update the sequence reference in trackBySequenceList
+		  String oldID = sequence.getID();
+		  if (trackBySequenceList.containsKey(oldID)) {
+				TreeSet trackSet = (TreeSet) trackBySequenceList.get(oldID);
+				trackBySequenceList.remove(oldID);
+				trackBySequenceList.put(newID, trackSet);
+		  }
+				
+		  // change ID and add to sequencePool
+		  sequence.id = newID;
+		  addSequence(sequence);
+	 }
+	 */
+} // ObjectHandles.java
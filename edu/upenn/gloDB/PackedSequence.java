@@ -0,0 +1,231 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)PackedSequence.java
+ */
+
+package edu.upenn.gloDB;
+
+/**
+ * PackedSequence.  Nucleotide data stored with 2 bits per base (A, C,
+ * G, T), 32 bases to a long.  Lower case (soft-masked) bases are kept
+ * as a list of runs, as are any other characters (N, IUPAC codes,
+ * etc).  Ranges of the data can be decoded without decoding the
+ * entire sequence.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class PackedSequence {
+
+	 /** Bases for each 2 bit code. */
+	 private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+
+	 /**
+	  * If more than 1 in this many positions are not A, C, G or T,
+	  * then the data isn't packed.
+	  */
+	 private static final int MAX_EXCEPTION_RATIO = 8;
+
+	 /** Number of bases. */
+	 private int length;
+
+	 /** The 2 bit base codes, 32 bases per long. */
+	 private long[] bits;
+
+	 /** Start (inclusive) and end (exclusive) of each lower case run. */
+	 private int[] lowerStarts;
+	 private int[] lowerEnds;
+
+	 /**
+	  * Start (inclusive) and end (exclusive) of each run of a
+	  * character that isn't A, C, G or T, along with the character.
+	  */
+	 private int[] exceptionStarts;
+	 private int[] exceptionEnds;
+	 private char[] exceptionChars;
+
+	 private PackedSequence() { }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the number of bases. */
+	 public int length() { return length; }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Packs 'data'.  Returns null if 'data' doesn't look like
+	  * nucleotide data (ie too many characters other than A, C, G and
+	  * T), in which case it should be stored as is.
+	  */
+	 public static PackedSequence pack(String data) {
+		  int length = data.length();
+
+		  PackedSequence packed = new PackedSequence();
+		  packed.length = length;
+		  packed.bits = new long[(length + 31) >>> 5];
+
+		  IntRuns lower = new IntRuns();
+		  IntRuns exceptions = new IntRuns();
+		  StringBuffer chars = new StringBuffer();
+		  int maxExceptions = (length / MAX_EXCEPTION_RATIO) + 1;
+
+		  for (int i = 0; i < length; i++) {
+				char c = data.charAt(i);
+
+				if (Character.isLowerCase(c)) lower.extend(i);
+
+				int code;
+				switch (c) {
+				case 'A': case 'a': code = 0; break;
+				case 'C': case 'c': code = 1; break;
+				case 'G': case 'g': code = 2; break;
+				case 'T': case 't': code = 3; break;
+				default:
+					 code = 0;
+					 // continue the run if the same character as the
+					 // previous position, else start a new run
+					 int last = exceptions.size - 1;
+					 if ((last >= 0) && (exceptions.ends[last] == i)
+						  && (chars.charAt(last) == c)) {
+						  exceptions.ends[last]++;
+					 } else {
+						  if (exceptions.size == maxExceptions) return null;
+						  exceptions.add(i, i + 1);
+						  chars.append(c);
+					 }
+				}
+
+				if (code != 0) packed.bits[i >>> 5] |= ((long) code) << ((i & 31) << 1);
+		  }
+
+		  packed.lowerStarts = lower.trimStarts();
+		  packed.lowerEnds = lower.trimEnds();
+		  packed.exceptionStarts = exceptions.trimStarts();
+		  packed.exceptionEnds = exceptions.trimEnds();
+		  packed.exceptionChars = chars.toString().toCharArray();
+
+		  return packed;
+	 }
+
+	 /**
+	  * Returns the bases from 'begin' (inclusive) to 'end'
+	  * (exclusive).  This follows String.substring(), including
+	  * throwing a StringIndexOutOfBoundsException for invalid
+	  * positions.
+	  */
+	 public String substring(int begin, int end) {
+		  if ((begin < 0) || (end > length) || (begin > end)) {
+				throw new StringIndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + length);
+		  }
+
+		  char[] out = new char[end - begin];
+		  decode(begin, end, out, 0);
+		  return new String(out);
+	 }
+
+	 /**
+	  * Decodes the bases from 'begin' (inclusive) to 'end'
+	  * (exclusive) into 'out', starting at 'outPos'.
+	  */
+	 public void decode(int begin, int end, char[] out, int outPos) {
+		  for (int i = begin; i < end; i++) {
+				int code = (int) (bits[i >>> 5] >>> ((i & 31) << 1)) & 3;
+				out[outPos + i - begin] = BASES[code];
+		  }
+
+		  // lower case runs
+		  for (int r = firstRun(lowerEnds, begin); (r < lowerStarts.length) && (lowerStarts[r] < end); r++) {
+				int from = Math.max(lowerStarts[r], begin);
+				int to = Math.min(lowerEnds[r], end);
+				for (int i = from; i < to; i++) {
+					 out[outPos + i - begin] = Character.toLowerCase(out[outPos + i - begin]);
+				}
+		  }
+
+		  // characters other than A, C, G and T
+		  for (int r = firstRun(exceptionEnds, begin); (r < exceptionStarts.length) && (exceptionStarts[r] < end); r++) {
+				int from = Math.max(exceptionStarts[r], begin);
+				int to = Math.min(exceptionEnds[r], end);
+				for (int i = from; i < to; i++) out[outPos + i - begin] = exceptionChars[r];
+		  }
+	 }
+
+	 /** Returns all of the bases as a String. */
+	 public String toString() { return substring(0, length); }
+
+	 /**
+	  * Returns the first run with an end past 'pos'.  The runs are
+	  * sorted and don't overlap, so the ends are also sorted.
+	  */
+	 private static int firstRun(int[] ends, int pos) {
+		  int lo = 0;
+		  int hi = ends.length;
+		  while (lo < hi) {
+				int mid = (lo + hi) >>> 1;
+				if (ends[mid] <= pos) lo = mid + 1;
+				else hi = mid;
+		  }
+		  return lo;
+	 }
+
+	 /** Growable list of runs, used while packing. */
+	 private static class IntRuns {
+		  int[] starts = new int[16];
+		  int[] ends = new int[16];
+		  int size = 0;
+
+		  /** Adds 'pos' to the last run, or starts a new run. */
+		  void extend(int pos) {
+				if ((size > 0) && (ends[size - 1] == pos)) ends[size - 1]++;
+				else add(pos, pos + 1);
+		  }
+
+		  void add(int start, int end) {
+				if (size == starts.length) {
+					 int[] tmp = new int[size * 2];
+					 System.arraycopy(starts, 0, tmp, 0, size);
+					 starts = tmp;
+					 tmp = new int[size * 2];
+					 System.arraycopy(ends, 0, tmp, 0, size);
+					 ends = tmp;
+				}
+				starts[size] = start;
+				ends[size] = end;
+				size++;
+		  }
+
+		  int[] trimStarts() {
+				int[] out = new int[size];
+				System.arraycopy(starts, 0, out, 0, size);
+				return out;
+		  }
+
+		  int[] trimEnds() {
+				int[] out = new int[size];
+				System.arraycopy(ends, 0, out, 0, size);
+				return out;
+		  }
+	 }
+
+} // PackedSequence.java
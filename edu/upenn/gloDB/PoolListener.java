@@ -0,0 +1,52 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)PoolListener.java
+ */
+
+package edu.upenn.gloDB;
+
+/**
+ * Interface for objects that need to know when Tracks or Sequences
+ * are added to or removed from the ObjectHandles pools.  The methods
+ * are called on the thread that changed the pool, which may not be
+ * the Swing event dispatch thread.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public interface PoolListener {
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /** Called after the Track 'id' is added to the trackPool. */
+	 public void trackAdded(String id);
+
+	 /** Called after the Track 'id' is removed from the trackPool. */
+	 public void trackRemoved(String id);
+
+	 /** Called after the Sequence 'id' is added to the sequencePool. */
+	 public void sequenceAdded(String id);
+
+	 /** Called after the Sequence 'id' is removed from the sequencePool. */
+	 public void sequenceRemoved(String id);
+
+} // PoolListener.java
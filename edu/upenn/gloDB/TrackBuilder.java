@@ -0,0 +1,202 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)TrackBuilder.java
+ */
+
+package edu.upenn.gloDB;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * TrackBuilder.  Adds Features to a Track in bulk.  Features are
+ * collected, unsorted, in a set of {@link FeatureColumns
+ * FeatureColumns} for each Sequence.  When {@link #commit() commit()}
+ * is called, the columns for each Sequence are sorted, in parallel,
+ * and then added to the Track.  If the Track is in the trackPool,
+ * then the trackPool lists are only rebuilt once, when the Features
+ * are committed, instead of after every Feature.
+ *
+ * <p>The Track shouldn't be changed while Features are being
+ * collected, as the collected Features share the Track's attribute
+ * table.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class TrackBuilder {
+
+	 /**
+	  * Minimum number of Features collected before the columns are
+	  * sorted in parallel.  Below this, starting the threads costs
+	  * more than the sort.
+	  */
+	 public static int PARALLEL_THRESHOLD = 10000;
+
+	 /** The Track that the Features will be added to. */
+	 private Track track;
+
+	 /**
+	  * The collected Features, indexed by the source ordinal of their
+	  * Sequence.  Sequences without Features are null.
+	  */
+	 private FeatureColumns[] columns = null;
+
+	 /** Number of Features collected, including any duplicates. */
+	 private int numFeatures = 0;
+
+	 /** Collect Features for a new Track that isn't in the trackPool. */
+	 public TrackBuilder() { 
+		  this(new Track(false));
+	 }
+
+	 /** Collect Features for 'track'. */
+	 public TrackBuilder(Track track) { 
+		  this.track = track;
+	 }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the Track that the Features will be added to. */
+	 public Track getTrack() { return track; }
+
+	 /**
+	  * Returns the number of Features collected since the last
+	  * commit.  Duplicate Features are counted separately.
+	  */
+	 public int numFeatures() { return numFeatures; }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Collects 'feature' to be added to the Track.  If 'feature' is
+	  * null, then this method won't do anything.
+	  */
+	 public void addFeature(Feature feature) {
+		  if (feature == null) return;
+
+		  int ordinal = feature.getSourceOrdinal();
+		  if (columns == null) {
+				columns = new FeatureColumns[Math.max(ordinal + 1, 16)];
+		  } else if (ordinal >= columns.length) {
+				FeatureColumns[] tmp = new FeatureColumns[Math.max(ordinal + 1, columns.length * 2)];
+				System.arraycopy(columns, 0, tmp, 0, columns.length);
+				columns = tmp;
+		  }
+
+		  FeatureColumns seqColumns = columns[ordinal];
+		  if (seqColumns == null) {
+				seqColumns = new FeatureColumns(feature.getSource(), track.getAttributeTable());
+				columns[ordinal] = seqColumns;
+		  }
+		  seqColumns.append(feature);
+		  numFeatures++;
+	 }
+
+	 /**
+	  * Collects all of 'features' to be added to the Track.  If
+	  * 'features' is null, then this method won't do anything.
+	  */
+	 public void addFeatures(Collection features) {
+		  if (features == null) return;
+
+		  for (Iterator i = features.iterator(); i.hasNext();) {
+				addFeature((Feature) i.next());
+		  }
+	 }
+
+	 /**
+	  * Sorts the collected Features and adds them to the Track.  If
+	  * the Track is in the trackPool, then the trackPool lists are
+	  * rebuilt.  The builder is then empty and can be used to collect
+	  * more Features for the same Track.  Returns the Track.
+	  */
+	 public Track commit() {
+		  if (columns != null) {
+				// only keep the Sequences with Features
+				int count = 0;
+				for (int s = 0; s < columns.length; s++) {
+					 if (columns[s] != null) count++;
+				}
+				FeatureColumns[] work = new FeatureColumns[count];
+				count = 0;
+				for (int s = 0; s < columns.length; s++) {
+					 if (columns[s] != null) work[count++] = columns[s];
+				}
+
+				sortColumns(work);
+				for (int i = 0; i < work.length; i++) track.addColumns(work[i]);
+
+				columns = null;
+				numFeatures = 0;
+		  }
+
+		  // rebuild trackPool lists if the Track is in the trackPool
+		  if (ObjectHandles.containsTrack(track.getID())) ObjectHandles.rebuildTrack(track);
+
+		  return track;
+	 }
+
+	 /**
+	  * Sorts each set of columns.  Each Sequence's columns are
+	  * independent, so if there are enough Features they are sorted
+	  * in parallel, one Sequence at a time per thread.
+	  */
+	 private void sortColumns(final FeatureColumns[] work) {
+		  int numThreads = Math.min(Runtime.getRuntime().availableProcessors(), work.length);
+
+		  if ((numThreads > 1) && (numFeatures >= PARALLEL_THRESHOLD)) {
+				// the next set of columns to be sorted
+				final int[] next = { 0 };
+
+				Thread[] threads = new Thread[numThreads];
+				for (int t = 0; t < numThreads; t++) {
+					 threads[t] = new Thread() {
+								public void run() {
+									 while (true) {
+										  int i;
+										  synchronized (next) { i = next[0]++; }
+										  if (i >= work.length) return;
+										  work[i].sortRows();
+									 }
+								}
+						  };
+					 threads[t].start();
+				}
+
+				for (int t = 0; t < numThreads; t++) {
+					 try {
+						  threads[t].join();
+					 } catch (InterruptedException e) {
+						  // wait for the rest of the sorts to finish
+						  t--;
+					 }
+				}
+		  }
+
+		  // sort anything that wasn't sorted above.  This does nothing
+		  // for columns that are already sorted.
+		  for (int i = 0; i < work.length; i++) work[i].sortRows();
+	 }
+
+} // TrackBuilder.java
@@ -0,0 +1,376 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)FASTAIndex.java
+ */
+
+package edu.upenn.gloDB.io;
+
+import edu.upenn.gloDB.*;
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.StringTokenizer;
+
+/**
+ * Index of the records in a FASTA file, using the same layout as a
+ * samtools faidx (".fai") file: record name, number of bases, byte
+ * offset of the first base, bases per line and bytes per line.  If a
+ * ".fai" file exists next to the FASTA file (and is newer than it),
+ * then it is used, else the FASTA file is scanned and the ".fai" file
+ * is written, if possible.
+ *
+ * <p>Sequence data is read from a memory mapped copy of each record,
+ * so bounded ranges can be returned without reading the rest of the
+ * file.  This requires all lines in a record, other than the last
+ * line, to have the same length.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class FASTAIndex {
+
+	 /** Indexes that have already been loaded, keyed on filename. */
+	 private static HashMap indexes = new HashMap();
+
+	 /** The FASTA file. */
+	 private File file;
+
+	 /** The file's lastModified() time when it was indexed. */
+	 private long lastModified;
+
+	 /**
+	  * False if the file couldn't be indexed.  The failure is kept,
+	  * so the file isn't scanned again until it changes.
+	  */
+	 private boolean valid = true;
+
+	 /** Records in file order and keyed on their names. */
+	 private ArrayList records = new ArrayList();
+	 private HashMap recordMap = new HashMap();
+
+	 private FASTAIndex(File file) { this.file = file; }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /**
+	  * Returns the index for 'filename', loading or building it if
+	  * necessary.  Returns null if the file can't be indexed (ex:
+	  * lines in a record have different lengths).  Both the index and
+	  * a failure to build it are kept until the file changes.
+	  */
+	 public static synchronized FASTAIndex getIndex(String filename) {
+		  File file = new File(filename);
+		  FASTAIndex index = (FASTAIndex) indexes.get(filename);
+
+		  // reuse the index, or the failure, unless the file has changed
+		  if ((index != null) && (index.lastModified == file.lastModified())) {
+				return index.valid ? index : null;
+		  }
+
+		  index = new FASTAIndex(file);
+		  index.lastModified = file.lastModified();
+		  try {
+				File faiFile = new File(filename + ".fai");
+				if (faiFile.exists() && (faiFile.lastModified() >= file.lastModified())) {
+					 index.readFAI(faiFile);
+				} else if (index.scan()) {
+					 index.writeFAI(faiFile);
+				} else {
+					 index.setInvalid();
+				}
+		  } catch (IOException e) {
+				GloDBUtils.printError("Error indexing file: " + filename);
+				index.setInvalid();
+		  }
+
+		  indexes.put(filename, index);
+		  return index.valid ? index : null;
+	 }
+
+	 /** Returns the number of records in the file. */
+	 public int numRecords() { return records.size(); }
+
+	 /**
+	  * Returns the name of the record at 'i', in file order.  This is
+	  * the header up to the first white space, without the ">".
+	  */
+	 public String getName(int i) { return ((Record) records.get(i)).name; }
+
+	 /** Returns true if the file contains a record named 'name'. */
+	 public boolean contains(String name) { return recordMap.containsKey(name); }
+
+	 /**
+	  * Returns the number of bases in the record 'name', or -1 if
+	  * there is no such record.  If 'name' is null or empty, then the
+	  * first record is used.
+	  */
+	 public int length(String name) {
+		  Record record = getRecord(name);
+		  if (record == null) return -1;
+		  else return record.length;
+	 }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Returns the name of the record for the header 'line'.  This is
+	  * the header up to the first white space, without the ">".
+	  */
+	 public static String recordName(String line) {
+		  int end = 1;
+		  while ((end < line.length()) && (! Character.isWhitespace(line.charAt(end)))) end++;
+		  return line.substring(1, end);
+	 }
+
+	 /**
+	  * Returns the bases in record 'name' from 'begin' (inclusive) to
+	  * 'end' (exclusive), where the first base is at position 0.  If
+	  * 'name' is null or empty, then the first record is used.
+	  * Returns null if there is no such record.  Throws a
+	  * StringIndexOutOfBoundsException for invalid positions, as
+	  * String.substring() does.
+	  */
+	 public String read(String name, int begin, int end) throws IOException {
+		  Record record = getRecord(name);
+		  if (record == null) return null;
+
+		  if ((begin < 0) || (end > record.length) || (begin > end)) {
+				throw new StringIndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + record.length);
+		  }
+
+		  char[] out = new char[end - begin];
+		  if (out.length == 0) return "";
+
+		  MappedByteBuffer buffer = record.getBuffer(file);
+		  int pos = begin;
+		  int o = 0;
+		  while (pos < end) {
+				// copy the rest of the bases on this line
+				int column = pos % record.lineBases;
+				int offset = (pos / record.lineBases) * record.lineWidth + column;
+				int count = Math.min(record.lineBases - column, end - pos);
+				for (int i = 0; i < count; i++) out[o++] = (char) (buffer.get(offset + i) & 0xff);
+				pos += count;
+		  }
+		  return new String(out);
+	 }
+
+	 /**
+	  * Returns the Record for 'name', or the first record if 'name'
+	  * is null or empty.
+	  */
+	 private Record getRecord(String name) {
+		  if (GloDBUtils.isEmpty(name)) {
+				if (records.isEmpty()) return null;
+				else return (Record) records.get(0);
+		  } else {
+				return (Record) recordMap.get(name);
+		  }
+	 }
+
+	 /** Drop any records found and mark the index as a failure. */
+	 private void setInvalid() {
+		  valid = false;
+		  records.clear();
+		  recordMap.clear();
+	 }
+
+	 private void addRecord(Record record) {
+		  records.add(record);
+		  recordMap.put(record.name, record);
+	 }
+
+	 /** Load the index from a ".fai" file. */
+	 private void readFAI(File faiFile) throws IOException {
+		  BufferedReader bReader = new BufferedReader(new FileReader(faiFile));
+		  String line;
+		  try {
+				while ((line = bReader.readLine()) != null) {
+					 if (line.length() == 0) continue;
+
+					 StringTokenizer st = new StringTokenizer(line, "\t");
+					 Record record = new Record();
+					 record.name = st.nextToken();
+					 record.length = Integer.parseInt(st.nextToken());
+					 record.offset = Long.parseLong(st.nextToken());
+					 record.lineBases = Integer.parseInt(st.nextToken());
+					 record.lineWidth = Integer.parseInt(st.nextToken());
+					 addRecord(record);
+				}
+		  } catch (RuntimeException e) {
+				throw new IOException("Invalid index file: " + faiFile);
+		  } finally {
+				bReader.close();
+		  }
+	 }
+
+	 /**
+	  * Try to save the index as a ".fai" file.  Failing to write the
+	  * file (ex: read only directory) isn't an error, the index will
+	  * just be rebuilt next time.
+	  */
+	 private void writeFAI(File faiFile) {
+		  try {
+				BufferedWriter bWriter = new BufferedWriter(new FileWriter(faiFile));
+				for (int i = 0; i < records.size(); i++) {
+					 Record record = (Record) records.get(i);
+					 bWriter.write(record.name + "\t" + record.length + "\t" + record.offset
+										+ "\t" + record.lineBases + "\t" + record.lineWidth + "\n");
+				}
+				bWriter.close();
+		  } catch (IOException e) {
+				GloDBUtils.printWarning("Unable to save index file: " + faiFile);
+		  }
+	 }
+
+	 /**
+	  * Build the index by scanning the FASTA file.  Returns false if
+	  * the file can't be indexed.
+	  */
+	 private boolean scan() throws IOException {
+		  GloDBUtils.printMsg("Indexing: " + file);
+
+		  InputStream in = new BufferedInputStream(new FileInputStream(file));
+		  try {
+				long pos = 0;          // byte offset of the next byte
+				Record record = null;  // the current record
+				int lastBases = -1;    // bases on the previous line
+				int lastWidth = -1;    // bytes on the previous line
+
+				StringBuffer header = null;
+				int lineBases = 0;
+				int lineWidth = 0;
+				int c;
+				while ((c = in.read()) != -1) {
+					 pos++;
+					 lineWidth++;
+
+					 if ((lineWidth == 1) && (c == '>')) {
+						  // start of a header line
+						  if ((record != null) && (lastBases == 0)) return badFormat(record);
+						  header = new StringBuffer(">");
+						  continue;
+					 }
+
+					 if (header != null) {
+						  if (c == '\n') {
+								record = new Record();
+								record.name = recordName(header.toString());
+								record.offset = pos;
+								addRecord(record);
+								header = null;
+								lastBases = -1;
+								lineWidth = 0;
+						  } else {
+								header.append((char) c);
+						  }
+						  continue;
+					 }
+
+					 if (c == '\n') {
+						  if (record == null) {
+								// data before the first header
+								GloDBUtils.printError("File does not contain a header: " + file);
+								return false;
+						  }
+
+						  // every line, other than the last line, must be
+						  // the same length
+						  if ((lastBases != -1) && ((lastBases != record.lineBases) || (lastWidth != record.lineWidth))) {
+								return badFormat(record);
+						  }
+						  if (record.lineBases == 0) {
+								record.lineBases = lineBases;
+								record.lineWidth = lineWidth;
+						  } else if (lineBases > record.lineBases) {
+								return badFormat(record);
+						  }
+						  if (lineBases > 0) {
+								record.length += lineBases;
+						  }
+						  lastBases = lineBases;
+						  lastWidth = lineWidth;
+						  lineBases = 0;
+						  lineWidth = 0;
+					 } else if ((c != '\r') && (record != null)) {
+						  lineBases++;
+					 }
+				}
+
+				// last line didn't end with a new line
+				if ((lineBases > 0) && (record != null)) {
+					 if ((lastBases != -1) && ((lastBases != record.lineBases) || (lastWidth != record.lineWidth))) {
+						  return badFormat(record);
+					 }
+					 if (record.lineBases == 0) {
+						  record.lineBases = lineBases;
+						  record.lineWidth = lineWidth + 1;
+					 }
+					 record.length += lineBases;
+				}
+		  } finally {
+				in.close();
+		  }
+
+		  return true;
+	 }
+
+	 private boolean badFormat(Record record) {
+		  GloDBUtils.printWarning("Unable to index \"" + record.name + "\" in " + file
+										  + ", lines have different lengths.");
+		  return false;
+	 }
+
+	 /** One record ('>' header and its sequence) in the file. */
+	 private static class Record {
+		  String name;
+		  int length = 0;
+		  long offset;
+		  int lineBases = 0;
+		  int lineWidth = 0;
+
+		  /** The record's bytes, mapped on first use. */
+		  MappedByteBuffer buffer = null;
+
+		  synchronized MappedByteBuffer getBuffer(File file) throws IOException {
+				if (buffer == null) {
+					 // the bytes from the first base through the last base
+					 long size = 0;
+					 if (length > 0) {
+						  size = ((long) (length - 1) / lineBases) * lineWidth + ((length - 1) % lineBases) + 1;
+					 }
+
+					 FileInputStream in = new FileInputStream(file);
+					 try {
+						  buffer = in.getChannel().map(FileChannel.MapMode.READ_ONLY, offset, size);
+					 } finally {
+						  in.close();
+					 }
+				}
+				return buffer;
+		  }
+	 }
+
+} // FASTAIndex.java
@@ -0,0 +1,698 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)Coverage.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+import edu.upenn.gloDB.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The positions on a Sequence that are covered by a set of Features,
+ * used to solve the base-wise operators (&amp;&amp;, || and -).  The
+ * positions are split into chunks of CHUNK_SIZE and only chunks with
+ * covered positions are stored.  Each chunk is either a list of runs
+ * (the first and last offset of each covered stretch) or, if it has
+ * more than MAX_RUNS runs, a bitmap with one bit per position.  Two
+ * chunks are combined run by run if both are runs, else 64 positions
+ * at a time, and the covered positions are only turned back into
+ * Features once the operator is done.
+ *
+ * <p>An output run that is the same as a merged Feature of the left
+ * operand (for ||, of either operand) is returned as that merged
+ * Feature, including its attributes, as FeatureUtils.mergeContiguous()
+ * would create it.  Other runs are returned as new ExactFeatures
+ * without attributes.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class Coverage {
+
+	 /**
+	  * If false, then the base-wise operators step through the merged
+	  * Features of both operands instead.
+	  */
+	 public static boolean enabled = true;
+
+	 /** Number of bits in a chunk offset. */
+	 private static final int CHUNK_BITS = 16;
+
+	 /** Number of positions in each chunk. */
+	 public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	 /** Number of 64 bit words in a chunk's bitmap. */
+	 private static final int WORDS = CHUNK_SIZE / 64;
+
+	 /**
+	  * A chunk with more runs than this is stored as a bitmap.  At
+	  * this size the runs and the bitmap use the same space.
+	  */
+	 private static final int MAX_RUNS = WORDS;
+
+	 /** Operators for combine(). */
+	 private static final int AND = 0;
+	 private static final int OR = 1;
+	 private static final int AND_NOT = 2;
+
+	 /** Number of chunks. */
+	 private int size = 0;
+
+	 /** The chunk keys (position / CHUNK_SIZE), in increasing order. */
+	 private int[] keys;
+
+	 /**
+	  * The runs in each chunk, as pairs of first and last offsets into
+	  * the chunk, or null if the chunk is a bitmap.
+	  */
+	 private int[][] runs;
+
+	 /** The bitmap for each chunk, or null if the chunk is runs. */
+	 private long[][] bitmaps;
+
+	 private Coverage(int capacity) {
+		  keys = new int[capacity];
+		  runs = new int[capacity][];
+		  bitmaps = new long[capacity][];
+	 }
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the number of chunks with covered positions. */
+	 public int numChunks() { return size; }
+
+	 /** Returns the number of covered positions. */
+	 public long cardinality() {
+		  long count = 0;
+		  for (int i = 0; i < size; i++) {
+				if (runs[i] != null) {
+					 int[] chunk = runs[i];
+					 for (int r = 0; r < chunk.length; r += 2) count += chunk[r + 1] - chunk[r] + 1;
+				} else {
+					 long[] bitmap = bitmaps[i];
+					 for (int w = 0; w < WORDS; w++) count += Long.bitCount(bitmap[w]);
+				}
+		  }
+		  return count;
+	 }
+
+	 /** Returns true if no positions are covered. */
+	 public boolean isEmpty() { return size == 0; }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Returns the positions covered by the Features in 'columns'.  If
+	  * 'columns' is null, then no positions are covered.
+	  */
+	 public static Coverage getCoverage(FeatureColumns columns) {
+		  if (columns == null) return new Coverage(0);
+
+		  // the rows are sorted by their min positions, so adding them
+		  // in order merges the overlapping Features
+		  RunList merged = new RunList();
+		  for (int row = 0; row < columns.size(); row++) {
+				merged.add(columns.getMin(row), columns.getMax(row));
+		  }
+
+		  // split the merged Features at the chunk boundaries
+		  Coverage coverage = new Coverage(4);
+		  RunList chunk = new RunList();
+		  int key = 0;
+		  for (int r = 0; r < merged.numRuns(); r++) {
+				int start = merged.getStart(r);
+				int end = merged.getEnd(r);
+				while (true) {
+					 int startKey = start >> CHUNK_BITS;
+					 if (startKey != key) {
+						  coverage.add(key, chunk);
+						  chunk.clear();
+						  key = startKey;
+					 }
+
+					 int base = key << CHUNK_BITS;
+					 int last = base + (CHUNK_SIZE - 1);
+					 if (end <= last) {
+						  chunk.add(start - base, end - base);
+						  break;
+					 }
+					 chunk.add(start - base, CHUNK_SIZE - 1);
+					 start = last + 1;
+				}
+		  }
+		  coverage.add(key, chunk);
+		  return coverage;
+	 }
+
+	 /** Returns the positions covered by both 'a' and 'b'. */
+	 public static Coverage and(Coverage a, Coverage b) { return combine(AND, a, b); }
+
+	 /** Returns the positions covered by either 'a' or 'b'. */
+	 public static Coverage or(Coverage a, Coverage b) { return combine(OR, a, b); }
+
+	 /** Returns the positions covered by 'a' but not by 'b'. */
+	 public static Coverage andNot(Coverage a, Coverage b) { return combine(AND_NOT, a, b); }
+
+	 /**
+	  * Combines each chunk of 'a' with the chunk of 'b' that has the
+	  * same key.  Chunks that are only in one of the Coverages are
+	  * shared with the output, rather than copied.
+	  */
+	 private static Coverage combine(int op, Coverage a, Coverage b) {
+		  Coverage out = new Coverage(a.size + b.size);
+		  RunList chunk = new RunList();
+		  int i = 0;
+		  int j = 0;
+		  while ((i < a.size) || (j < b.size)) {
+				if ((j == b.size) || ((i < a.size) && (a.keys[i] < b.keys[j]))) {
+					 if (op != AND) out.add(a.keys[i], a.runs[i], a.bitmaps[i]);
+					 i++;
+				} else if ((i == a.size) || (b.keys[j] < a.keys[i])) {
+					 if (op == OR) out.add(b.keys[j], b.runs[j], b.bitmaps[j]);
+					 j++;
+				} else if ((a.runs[i] != null) && (b.runs[j] != null)) {
+					 chunk.clear();
+					 combineRuns(op, a.runs[i], b.runs[j], chunk);
+					 out.add(a.keys[i], chunk);
+					 i++;
+					 j++;
+				} else {
+					 long[] bitmapA = a.getBitmap(i);
+					 long[] bitmapB = b.getBitmap(j);
+					 long[] bitmap = new long[WORDS];
+					 switch (op) {
+					 case AND:
+						  for (int w = 0; w < WORDS; w++) bitmap[w] = bitmapA[w] & bitmapB[w];
+						  break;
+					 case OR:
+						  for (int w = 0; w < WORDS; w++) bitmap[w] = bitmapA[w] | bitmapB[w];
+						  break;
+					 default:
+						  for (int w = 0; w < WORDS; w++) bitmap[w] = bitmapA[w] & ~bitmapB[w];
+					 }
+					 out.add(a.keys[i], bitmap);
+					 i++;
+					 j++;
+				}
+		  }
+		  return out;
+	 }
+
+	 /** Adds the runs for 'op' on the runs 'a' and 'b' to 'out'. */
+	 private static void combineRuns(int op, int[] a, int[] b, RunList out) {
+		  int i = 0;
+		  int j = 0;
+		  switch (op) {
+		  case AND:
+				while ((i < a.length) && (j < b.length)) {
+					 int start = Math.max(a[i], b[j]);
+					 int end = Math.min(a[i + 1], b[j + 1]);
+					 if (start <= end) out.add(start, end);
+
+					 // move past the run that ends first
+					 if (a[i + 1] < b[j + 1]) i += 2;
+					 else j += 2;
+				}
+				break;
+		  case OR:
+				while ((i < a.length) || (j < b.length)) {
+					 if ((j == b.length) || ((i < a.length) && (a[i] <= b[j]))) {
+						  out.add(a[i], a[i + 1]);
+						  i += 2;
+					 } else {
+						  out.add(b[j], b[j + 1]);
+						  j += 2;
+					 }
+				}
+				break;
+		  default:
+				for (; i < a.length; i += 2) {
+					 int start = a[i];
+					 int end = a[i + 1];
+
+					 // skip the runs in 'b' that end before this run
+					 while ((j < b.length) && (b[j + 1] < start)) j += 2;
+
+					 // cut out each run in 'b' that overlaps this run.  The
+					 // last of them may also overlap the next run, so 'j'
+					 // isn't moved past it.
+					 for (int k = j; (k < b.length) && (b[k] <= end) && (start <= end); k += 2) {
+						  if (b[k] > start) out.add(start, b[k] - 1);
+						  if (b[k + 1] >= start) start = b[k + 1] + 1;
+					 }
+					 if (start <= end) out.add(start, end);
+				}
+		  }
+	 }
+
+	 /**
+	  * Adds the chunk 'key' with the runs in 'chunk', storing it as a
+	  * bitmap if there are more than MAX_RUNS runs.  Empty chunks
+	  * aren't added.
+	  */
+	 private void add(int key, RunList chunk) {
+		  if (chunk.numRuns() == 0) return;
+
+		  if (chunk.numRuns() > MAX_RUNS) {
+				long[] bitmap = new long[WORDS];
+				for (int r = 0; r < chunk.numRuns(); r++) {
+					 setRange(bitmap, chunk.getStart(r), chunk.getEnd(r));
+				}
+				add(key, null, bitmap);
+		  } else {
+				add(key, chunk.toArray(), null);
+		  }
+	 }
+
+	 /**
+	  * Adds the chunk 'key' with the bits in 'bitmap', storing it as
+	  * runs if there are MAX_RUNS runs or less.  Empty chunks aren't
+	  * added.
+	  */
+	 private void add(int key, long[] bitmap) {
+		  // a run starts at each set bit whose previous bit isn't set
+		  int numRuns = 0;
+		  long carry = 0;
+		  for (int w = 0; w < WORDS; w++) {
+				long word = bitmap[w];
+				numRuns += Long.bitCount(word & ~((word << 1) | carry));
+				carry = word >>> 63;
+		  }
+
+		  if (numRuns == 0) return;
+		  if (numRuns > MAX_RUNS) add(key, null, bitmap);
+		  else add(key, getRuns(bitmap).toArray(), null);
+	 }
+
+	 private void add(int key, int[] chunkRuns, long[] bitmap) {
+		  if (size == keys.length) {
+				int capacity = Math.max(4, size * 2);
+				int[] newKeys = new int[capacity];
+				int[][] newRuns = new int[capacity][];
+				long[][] newBitmaps = new long[capacity][];
+				System.arraycopy(keys, 0, newKeys, 0, size);
+				System.arraycopy(runs, 0, newRuns, 0, size);
+				System.arraycopy(bitmaps, 0, newBitmaps, 0, size);
+				keys = newKeys;
+				runs = newRuns;
+				bitmaps = newBitmaps;
+		  }
+		  keys[size] = key;
+		  runs[size] = chunkRuns;
+		  bitmaps[size] = bitmap;
+		  size++;
+	 }
+
+	 /**
+	  * Returns the bitmap for chunk 'i', creating it from the runs if
+	  * the chunk is runs.  The bitmap returned must not be changed.
+	  */
+	 private long[] getBitmap(int i) {
+		  if (bitmaps[i] != null) return bitmaps[i];
+
+		  long[] bitmap = new long[WORDS];
+		  int[] chunk = runs[i];
+		  for (int r = 0; r < chunk.length; r += 2) setRange(bitmap, chunk[r], chunk[r + 1]);
+		  return bitmap;
+	 }
+
+	 /** Sets the bits from 'start' to 'end' (inclusive) in 'bitmap'. */
+	 private static void setRange(long[] bitmap, int start, int end) {
+		  int first = start >>> 6;
+		  int last = end >>> 6;
+		  long firstMask = -1L << (start & 63);
+		  long lastMask = -1L >>> (63 - (end & 63));
+		  if (first == last) {
+				bitmap[first] |= firstMask & lastMask;
+		  } else {
+				bitmap[first] |= firstMask;
+				for (int w = first + 1; w < last; w++) bitmap[w] = -1L;
+				bitmap[last] |= lastMask;
+		  }
+	 }
+
+	 /** Returns the runs of set bits in 'bitmap'. */
+	 private static RunList getRuns(long[] bitmap) {
+		  RunList out = new RunList();
+		  for (int w = 0; w < WORDS; w++) {
+				long word = bitmap[w];
+				int base = w << 6;
+				while (word != 0) {
+					 // the run starts at the lowest set bit and ends
+					 // before the next unset bit
+					 int start = Long.numberOfTrailingZeros(word);
+					 long unset = ~(word | (word - 1));
+					 int end = (unset == 0) ? 64 : Long.numberOfTrailingZeros(unset);
+					 out.add(base + start, base + end - 1);
+					 word = (end == 64) ? 0 : (word & (-1L << end));
+				}
+		  }
+		  return out;
+	 }
+
+	 /**
+	  * Returns the covered positions as runs, with the runs that cross
+	  * chunk boundaries joined.
+	  */
+	 RunList getRuns() {
+		  RunList out = new RunList();
+		  for (int i = 0; i < size; i++) {
+				int base = keys[i] << CHUNK_BITS;
+				int[] chunk = (runs[i] != null) ? runs[i] : getRuns(bitmaps[i]).toArray();
+				for (int r = 0; r < chunk.length; r += 2) out.add(base + chunk[r], base + chunk[r + 1]);
+		  }
+		  return out;
+	 }
+
+	 /**
+	  * Solve the base-wise operator 'type' (11 = &amp;&amp;, 12 = ||,
+	  * 13 = -) for 'left' and 'right', one Sequence at a time.
+	  */
+	 static Track solve(int type, Track left, Track right) {
+		  final FeatureStream stream = stream(type, left, right);
+
+		  TrackBuilder out = new TrackBuilder();
+		  Operator.runBySource(stream.getSources(), out, new Operator.SourceOp() {
+					 public void run(int source, ArrayList features) {
+						  FeatureCursor cursor = stream.open(source);
+						  while (cursor.next()) features.add(cursor.getFeature());
+					 }
+				});
+		  return out.commit();
+	 }
+
+	 /**
+	  * Returns the output of solve() as a stream.  The positions on a
+	  * Sequence are only combined when its cursor is opened and a
+	  * Feature is only created for a run if getFeature() is called, so
+	  * the output can be counted without being stored.
+	  */
+	 static FeatureStream stream(final int type, final Track left, final Track right) {
+		  int[] sources = left.getSourceOrdinals();
+		  if (type == 12) sources = union(sources, right.getSourceOrdinals());
+		  final int[] outSources = sources;
+
+		  // as with OR, Features that are in both Tracks are taken from
+		  // the larger Track
+		  final boolean rightFirst = (left.numFeatures() < right.numFeatures());
+
+		  return new FeatureStream() {
+					 public int[] getSources() { return outSources; }
+
+					 public FeatureCursor open(int source) {
+						  return new RunCursor(type, left.getColumns(source), right.getColumns(source), 
+													  rightFirst);
+					 }
+				};
+	 }
+
+	 /** Returns the values in either of the sorted arrays 'a' and 'b'. */
+	 private static int[] union(int[] a, int[] b) {
+		  int[] out = new int[a.length + b.length];
+		  int n = 0;
+		  int i = 0;
+		  int j = 0;
+		  while ((i < a.length) || (j < b.length)) {
+				if ((j == b.length) || ((i < a.length) && (a[i] < b[j]))) {
+					 out[n++] = a[i++];
+				} else if ((i == a.length) || (b[j] < a[i])) {
+					 out[n++] = b[j++];
+				} else {
+					 out[n++] = a[i++];
+					 j++;
+				}
+		  }
+
+		  int[] tmp = new int[n];
+		  System.arraycopy(out, 0, tmp, 0, n);
+		  return tmp;
+	 }
+
+	 /**
+	  * Cursor over the output of solve() for the Features 'a' and 'b'
+	  * on one Sequence.  Each run is returned as the merged Feature
+	  * with the same bounds, if there is one, else as a new Feature.
+	  */
+	 private static class RunCursor implements FeatureCursor {
+		  RunList runs;
+		  Clusters clusters;
+		  Sequence source;
+
+		  /** True if there are more merged Features in 'clusters'. */
+		  boolean more;
+
+		  /** The current run. */
+		  int r = -1;
+		  int min;
+		  int max;
+
+		  /** True if the current run is the current merged Feature. */
+		  boolean merged;
+
+		  /** The Feature for the current run, once it's created. */
+		  Feature feature;
+
+		  RunCursor(int type, FeatureColumns a, FeatureColumns b, boolean bFirst) {
+				// nothing on this Sequence in 'b' overlaps 'a', or the
+				// cursor was opened for a Sequence with no Features
+				if (((type == 11) && (b == null)) || ((a == null) && (b == null))) {
+					 runs = new RunList();
+					 return;
+				}
+
+				Coverage coverageA = getCoverage(a);
+				Coverage coverageB = getCoverage(b);
+				Coverage coverage;
+				switch (type) {
+				case 11:
+					 coverage = and(coverageA, coverageB);
+					 break;
+				case 12:
+					 coverage = or(coverageA, coverageB);
+					 break;
+				default:
+					 coverage = andNot(coverageA, coverageB);
+				}
+				runs = coverage.getRuns();
+
+				// the merged Features that the runs are compared to
+				if (type == 12) clusters = new Clusters(a, b, bFirst);
+				else clusters = new Clusters(a, null, false);
+				more = clusters.next();
+
+				source = (a != null) ? a.getSource() : b.getSource();
+		  }
+
+		  public int getMin() { return min; }
+		  public int getMax() { return max; }
+		  public int length() { return (max - min) + 1; }
+
+		  /** New Features don't have attributes. */
+		  public int getAttributesHash() { return merged ? getFeature().getAttributesHash() : 0; }
+
+		  public Feature getFeature() {
+				if (feature == null) {
+					 if (merged) feature = clusters.getFeature();
+					 else feature = new ExactFeature(min, max, source);
+				}
+				return feature;
+		  }
+
+		  public boolean next() {
+				if (r < runs.numRuns()) r++;
+				if (r == runs.numRuns()) return false;
+
+				min = runs.getStart(r);
+				max = runs.getEnd(r);
+				while (more && (clusters.max < min)) more = clusters.next();
+				merged = more && (clusters.min == min) && (clusters.max == max);
+				feature = null;
+				return true;
+		  }
+	 }
+
+	 /**
+	  * Runs of positions, as pairs of first and last positions in
+	  * increasing order.  A run that overlaps or is next to the last
+	  * run is joined to it.
+	  */
+	 static class RunList {
+		  private int[] data = new int[16];
+		  private int size = 0;
+
+		  void add(int start, int end) {
+				if ((size > 0) && (start <= (data[size - 1] + 1))) {
+					 if (end > data[size - 1]) data[size - 1] = end;
+					 return;
+				}
+
+				if (size == data.length) {
+					 int[] tmp = new int[size * 2];
+					 System.arraycopy(data, 0, tmp, 0, size);
+					 data = tmp;
+				}
+				data[size++] = start;
+				data[size++] = end;
+		  }
+
+		  int numRuns() { return size / 2; }
+
+		  int getStart(int r) { return data[2 * r]; }
+
+		  int getEnd(int r) { return data[(2 * r) + 1]; }
+
+		  void clear() { size = 0; }
+
+		  int[] toArray() {
+				int[] out = new int[size];
+				System.arraycopy(data, 0, out, 0, size);
+				return out;
+		  }
+	 }
+
+	 /**
+	  * Steps through the rows of 'a' and 'b' in sorted order, grouping
+	  * rows that overlap or are next to each other, as
+	  * FeatureUtils.mergeContiguous() does for a single Track.  Rows
+	  * that are in both 'a' and 'b' are only used once, taken from
+	  * 'b' if 'bFirst' is true, else from 'a'.  Either may be null.
+	  */
+	 private static class Clusters {
+		  FeatureColumns a;
+		  FeatureColumns b;
+		  int sizeA;
+		  int sizeB;
+		  boolean bFirst;
+
+		  /** The next rows in 'a' and 'b'. */
+		  int rowA = 0;
+		  int rowB = 0;
+
+		  /** The row found by nextRow(). */
+		  FeatureColumns columns;
+		  int row;
+
+		  /** The current group: its bounds, first row and starting rows. */
+		  int min;
+		  int max;
+		  FeatureColumns firstColumns;
+		  int firstRow;
+		  int startA;
+		  int startB;
+
+		  Clusters(FeatureColumns a, FeatureColumns b, boolean bFirst) {
+				this.a = a;
+				this.b = b;
+				this.bFirst = bFirst;
+				sizeA = (a == null) ? 0 : a.size();
+				sizeB = (b == null) ? 0 : b.size();
+		  }
+
+		  /** Moves to the next group and returns false if there are none. */
+		  boolean next() {
+				startA = rowA;
+				startB = rowB;
+				if (! nextRow(sizeA, sizeB)) return false;
+
+				firstColumns = columns;
+				firstRow = row;
+				min = columns.getMin(row);
+				max = columns.getMax(row);
+				while (true) {
+					 int lastA = rowA;
+					 int lastB = rowB;
+					 if (! nextRow(sizeA, sizeB)) break;
+
+					 if ((max + 1) < columns.getMin(row)) {
+						  // found a gap, so leave the row for the next group
+						  rowA = lastA;
+						  rowB = lastB;
+						  break;
+					 }
+					 if (columns.getMax(row) > max) max = columns.getMax(row);
+				}
+				return true;
+		  }
+
+		  /**
+		   * Returns the merged Feature for the current group.  If the
+		   * first row spans the group, then its Feature is returned,
+		   * else a new Feature with the attributes of all of the rows.
+		   */
+		  Feature getFeature() {
+				if (firstColumns.getMax(firstRow) == max) return firstColumns.getFeature(firstRow);
+
+				int endA = rowA;
+				int endB = rowB;
+				rowA = startA;
+				rowB = startB;
+				HashMap attribs = new HashMap();
+				while (nextRow(endA, endB)) {
+					 AttributeTable table = columns.getAttributeTable();
+					 attribs.putAll(table.getMap(columns.getAttributeRow(row)));
+				}
+
+				Feature feature = new ExactFeature(min, max, firstColumns.getSource());
+				feature.setAttributes(attribs);
+				return feature;
+		  }
+
+		  /**
+		   * Sets 'columns' and 'row' to the next row, stopping at 'endA'
+		   * and 'endB', and returns false if there are no more rows.
+		   */
+		  private boolean nextRow(int endA, int endB) {
+				boolean hasA = (rowA < endA);
+				boolean hasB = (rowB < endB);
+				if ((! hasA) && (! hasB)) return false;
+
+				int compare;
+				if (! hasA) compare = 1;
+				else if (! hasB) compare = -1;
+				else compare = Operator.compareRows(a, rowA, b, rowB);
+
+				// skip the copy that isn't used
+				if (compare == 0) {
+					 if (bFirst) {
+						  rowA++;
+						  compare = 1;
+					 } else {
+						  rowB++;
+						  compare = -1;
+					 }
+				}
+
+				if (compare < 0) {
+					 columns = a;
+					 row = rowA++;
+				} else {
+					 columns = b;
+					 row = rowB++;
+				}
+				return true;
+		  }
+	 }
+
+} // Coverage.java
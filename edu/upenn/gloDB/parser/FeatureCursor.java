@@ -0,0 +1,71 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)FeatureCursor.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+import edu.upenn.gloDB.Feature;
+
+/**
+ * Reads the Features of a FeatureStream that are on one Sequence.
+ * The Features are returned in the same order as they are stored in
+ * a Track (min, then max, then attributes hash) and without
+ * duplicates.  The cursor starts before the first Feature, so next()
+ * must be called before reading the positions.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public interface FeatureCursor {
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the min position of the current Feature. */
+	 public int getMin();
+
+	 /** Returns the max position of the current Feature. */
+	 public int getMax();
+
+	 /** Returns the length of the current Feature. */
+	 public int length();
+
+	 /** Returns the attributes hashCode of the current Feature. */
+	 public int getAttributesHash();
+
+	 /**
+	  * Returns the current Feature.  The Feature may be created each
+	  * time this is called, so this should only be called for Features
+	  * that are kept.
+	  */
+	 public Feature getFeature();
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Move to the next Feature.  Returns false if there are no more
+	  * Features.
+	  */
+	 public boolean next();
+
+} // FeatureCursor.java
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)FeatureStream.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+/**
+ * A set of Features that is computed as it is read, instead of being
+ * stored in a Track.  The Features are read one Sequence at a time,
+ * using a FeatureCursor, and the cursors for different Sequences are
+ * independent, so Sequences can be read in parallel.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public interface FeatureStream {
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Returns the source ordinals, in increasing order, of the
+	  * Sequences that may contain Features.  A Sequence included here
+	  * might not have any Features once it is read.
+	  */
+	 public int[] getSources();
+
+	 /**
+	  * Returns a new cursor over the Features on the Sequence with
+	  * source ordinal 'source'.
+	  */
+	 public FeatureCursor open(int source);
+
+} // FeatureStream.java
@@ -6,6 +6,7 @@
         import java.util.HashSet;
         import java.util.ArrayList;
         import java.util.Iterator;
+        import java.util.Map;
 
 
         /**
@@ -26,10 +27,10 @@
                 private ArrayList parsed = new ArrayList();
 
                 /** The set of Tracks to be used. */
-                private HashMap trackPool;
+                private Map trackPool;
 
                 /** The set of Sequences to be used. */
-                private HashMap sequencePool;
+                private Map sequencePool;
 
                 /** 
 		 * The ID of the new Track object.
@@ -62,7 +63,7 @@
 		 * which is a list of operations to perform.  The first object
 		 * in the ArrayList is the ID of the new Track.
 		 */
-                public ArrayList run(HashMap trackPool, HashMap sequencePool) throws ParseException {
+                public ArrayList run(Map trackPool, Map sequencePool) throws ParseException {
                         this.trackPool = trackPool;
                         this.sequencePool = sequencePool;
                         ArrayList ops = parseLine();
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)QueryCache.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+import edu.upenn.gloDB.*;
+import java.io.StringReader;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of parsed expressions, keyed on the expression with its white
+ * space collapsed.  Parsing clones every Track in the expression, so
+ * reusing the parsed Operations saves more than the parsing itself.
+ * Each entry remembers the Tracks and Sequences that the parser
+ * looked up, and the entry is dropped if any of them have been
+ * replaced in ObjectHandles or, for Tracks, have had their Features
+ * changed.  The cached Operations are never solved, callers are given
+ * a copy.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class QueryCache {
+
+	 /** If false, then every expression is parsed. */
+	 public static boolean enabled = true;
+
+	 /** Maximum number of parsed expressions to keep. */
+	 public static int MAX_ENTRIES = 64;
+
+	 /**
+	  * Parsed expressions, in least recently used order.  The keys are
+	  * the normalized expressions and the values are Entry objects.
+	  */
+	 private static LinkedHashMap cache = new LinkedHashMap(16, 0.75f, true) {
+				protected boolean removeEldestEntry(Map.Entry eldest) {
+					 return size() > MAX_ENTRIES;
+				}
+		  };
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the number of cached expressions. */
+	 public static int size() {
+		  synchronized (cache) { return cache.size(); }
+	 }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /** Remove all cached expressions. */
+	 public static void clear() {
+		  synchronized (cache) { cache.clear(); }
+	 }
+
+	 /** Returns 'parse' with all runs of white space replaced by a space. */
+	 public static String normalize(String parse) {
+		  StringBuffer out = new StringBuffer(parse.length());
+		  boolean space = false;
+		  for (int i = 0; i < parse.length(); i++) {
+				char c = parse.charAt(i);
+				if (Character.isWhitespace(c)) {
+					 space = true;
+				} else {
+					 if (space && (out.length() > 0)) out.append(' ');
+					 space = false;
+					 out.append(c);
+				}
+		  }
+		  return out.toString();
+	 }
+
+	 /**
+	  * Returns the parsed Operations for 'parse', parsing the
+	  * expression if it isn't in the cache.  The Operations returned
+	  * aren't shared with the cache, so they can be solved.  Returns
+	  * null if the parser doesn't return any Operations.
+	  */
+	 static Query parse(String parse) throws ParseException {
+		  String key = normalize(parse);
+
+		  if (enabled) {
+				Entry entry;
+				synchronized (cache) { entry = (Entry) cache.get(key); }
+				if (entry != null) {
+					 if (entry.isValid()) return entry.query.copy();
+
+					 synchronized (cache) {
+						  if (cache.get(key) == entry) cache.remove(key);
+					 }
+				}
+		  }
+
+		  // record the Tracks and Sequences used by the parser
+		  RecordingMap tracks = new RecordingMap(ObjectHandles.trackPool);
+		  RecordingMap sequences = new RecordingMap(ObjectHandles.sequencePool);
+
+		  Parser parser = new Parser(new StringReader(parse));
+		  ArrayList ops = parser.run(tracks, sequences);
+		  if (ops == null) return null;
+
+		  Query query = new Query(ops, parser.getId());
+		  if (enabled) {
+				Entry entry = new Entry(query.copy(), tracks, sequences);
+				synchronized (cache) { cache.put(key, entry); }
+		  }
+		  return query;
+	 }
+
+	 /** The Operations and assignment Track ID for an expression. */
+	 static class Query {
+		  ArrayList ops;
+		  String id;
+
+		  Query(ArrayList ops, String id) {
+				this.ops = ops;
+				this.id = id;
+		  }
+
+		  /** Returns a copy with deep copies of the Operations. */
+		  Query copy() {
+				ArrayList opsCopy = new ArrayList(ops.size());
+				for (Iterator i = ops.iterator(); i.hasNext();) {
+					 opsCopy.add(((Operation) i.next()).copy());
+				}
+				return new Query(opsCopy, id);
+		  }
+	 }
+
+	 /** A parsed expression and the objects it was parsed from. */
+	 private static class Entry {
+		  Query query;
+
+		  /** The pools, IDs, objects and Track mod counts looked up. */
+		  Map[] pools;
+		  Object[] keys;
+		  Object[] values;
+		  long[] modCounts;
+
+		  /** Number of Tracks in the trackPool, if all Tracks were used. */
+		  int numTracks = -1;
+
+		  /**
+		   * IGNORE_ATTRIBUTES when parsed, since it decides which
+		   * Features are kept when Tracks are cloned.
+		   */
+		  boolean ignoreAttributes;
+
+		  Entry(Query query, RecordingMap tracks, RecordingMap sequences) {
+				this.query = query;
+
+				int size = tracks.used.size() + sequences.used.size();
+				pools = new Map[size];
+				keys = new Object[size];
+				values = new Object[size];
+				modCounts = new long[size];
+
+				int n = 0;
+				RecordingMap[] maps = { tracks, sequences };
+				for (int m = 0; m < maps.length; m++) {
+					 for (Iterator i = maps[m].used.entrySet().iterator(); i.hasNext();) {
+						  Map.Entry used = (Map.Entry) i.next();
+						  pools[n] = maps[m].pool;
+						  keys[n] = used.getKey();
+						  values[n] = used.getValue();
+						  if (values[n] instanceof Track) modCounts[n] = ((Track) values[n]).getModCount();
+						  n++;
+					 }
+				}
+
+				if (tracks.all) numTracks = tracks.poolSize;
+				ignoreAttributes = GloDBUtils.ignoreAttributes();
+		  }
+
+		  /**
+		   * Returns true if the pools still contain the same objects and
+		   * none of the Tracks have changed.
+		   */
+		  boolean isValid() {
+				if (ignoreAttributes != GloDBUtils.ignoreAttributes()) return false;
+				if ((numTracks != -1) && (ObjectHandles.trackPool.size() != numTracks)) return false;
+
+				for (int i = 0; i < keys.length; i++) {
+					 if (pools[i].get(keys[i]) != values[i]) return false;
+					 if ((values[i] instanceof Track)
+						  && (((Track) values[i]).getModCount() != modCounts[i])) return false;
+				}
+				return true;
+		  }
+	 }
+
+	 /**
+	  * Map passed to the parser in place of a pool, which records each
+	  * object that is looked up.  If the parser asks for all of the
+	  * keys (ie "__T"), then the size of the pool is also recorded.
+	  */
+	 private static class RecordingMap extends AbstractMap {
+		  Map pool;
+		  LinkedHashMap used = new LinkedHashMap();
+		  boolean all = false;
+		  int poolSize = 0;
+
+		  RecordingMap(Map pool) { this.pool = pool; }
+
+		  public Object get(Object key) {
+				Object value = pool.get(key);
+				used.put(key, value);
+				return value;
+		  }
+
+		  public boolean containsKey(Object key) { return get(key) != null; }
+
+		  public int size() { return pool.size(); }
+
+		  public Set keySet() {
+				all = true;
+				poolSize = pool.size();
+				return pool.keySet();
+		  }
+
+		  public Set entrySet() {
+				all = true;
+				poolSize = pool.size();
+				return pool.entrySet();
+		  }
+	 }
+
+} // QueryCache.java
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)QueryOptimizer.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+import edu.upenn.gloDB.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Rewrites the Operations ArrayList produced by the parser, before it
+ * is solved by ParserUtils.  None of the rewrites change the output
+ * Track, they only reduce the number of Features that are tested:
+ * <ul>
+ * <li>A negated group that only contains a negated Operation is
+ * inverted twice in a single pass.
+ * <li>Length and sequence position filters on a group are also
+ * applied to the operands of the group, when the group only uses
+ * operators that keep or drop each Feature independently (OR, MINUS,
+ * sAND, sMINUS).  The group's filters are still applied to the
+ * output.
+ * <li>Operands of POS, AND, sAND and &amp;&amp; that share no
+ * Sequences with the left side are replaced by an empty Track, so
+ * groups aren't solved, and operands of MINUS and sMINUS that share
+ * no Sequences with the left side are dropped.
+ * <li>Runs of OR or sAND Tracks are sorted smallest first.
+ * </ul>
+ * Sequence filters are already propagated to inner groups by the
+ * parser.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class QueryOptimizer {
+
+	 /** If false, then optimize() returns the Operations unchanged. */
+	 public static boolean enabled = true;
+
+	 public static boolean debug = false;
+
+	 /** Orders Operations by their number of Features. */
+	 private static final Comparator BY_SIZE = new Comparator() {
+				public int compare(Object o1, Object o2) {
+					 int n1 = ((Operation) o1).numFeatures();
+					 int n2 = ((Operation) o2).numFeatures();
+					 if (n1 < n2) return -1;
+					 else if (n1 > n2) return 1;
+					 else return 0;
+				}
+		  };
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /**
+	  * Rewrite the Operations in 'ops', including all nested groups.
+	  * The Operations are changed in place and 'ops' is returned.
+	  */
+	 public static ArrayList optimize(ArrayList ops) {
+		  if ((! enabled) || (ops == null) || ops.isEmpty()) return ops;
+
+		  optimizeList(ops);
+
+		  if (debug) System.out.println("optimized: " + ops);
+		  return ops;
+	 }
+
+	 private static void optimizeList(ArrayList ops) {
+		  for (Iterator i = ops.iterator(); i.hasNext();) {
+				optimizeOperation((Operation) i.next());
+		  }
+
+		  dropDisjoint(ops);
+		  sortBySize(ops);
+	 }
+
+	 private static void optimizeOperation(Operation operation) {
+		  foldNegation(operation);
+
+		  if (operation.isGroup()) {
+				pushFilters(operation);
+				optimizeList(operation.getGroup());
+		  }
+	 }
+
+	 /**
+	  * If 'operation' is a negated group that only contains a negated
+	  * Operation, then replace both inversions with negateTwice.  The
+	  * group's filters are applied between the two inversions, so the
+	  * group can't have any filters.
+	  */
+	 private static void foldNegation(Operation operation) {
+		  if ((! operation.isNegate()) || (! operation.isGroup())) return;
+		  if (operation.getGroup().size() != 1) return;
+		  if ((operation.getMaxLength() != 0) || (operation.getMaxSeqPos() != 0)
+				|| operation.hasRepeat()) return;
+
+		  Operation inner = (Operation) operation.getGroup().get(0);
+		  if (! inner.isNegate()) return;
+
+		  inner.setNegate(false);
+		  operation.setNegate(false);
+		  operation.setNegateTwice(true);
+	 }
+
+	 /**
+	  * Apply the group's length and sequence position filters to the
+	  * operands.  Filtering the output of OR, MINUS, sAND and sMINUS
+	  * is the same as filtering the left operand first, as well as the
+	  * right operand of OR and sAND.  Negated operands are inverted
+	  * after they are filtered, so they are skipped, as are groups with
+	  * their own filters.
+	  */
+	 private static void pushFilters(Operation operation) {
+		  boolean length = (operation.getMaxLength() != 0);
+		  boolean seqPos = (operation.getMaxSeqPos() != 0);
+		  if ((! length) && (! seqPos)) return;
+
+		  ArrayList ops = operation.getGroup();
+		  for (int i = 1; i < ops.size(); i++) {
+				int type = ((Operation) ops.get(i)).getType();
+				if ((type != 2) && (type != 3) && (type != 4) && (type != 5)) return;
+		  }
+
+		  for (int i = 0; i < ops.size(); i++) {
+				Operation operand = (Operation) ops.get(i);
+
+				// the right side of MINUS and sMINUS isn't filtered
+				int type = operand.getType();
+				if ((i > 0) && (type != 2) && (type != 4)) continue;
+
+				if (operand.isNegate() || operand.isNegateTwice()) continue;
+
+				if (operand.isGroup()) {
+					 // setting the filters on a group doesn't filter
+					 // anything until the group is solved
+					 if ((operand.getMaxLength() != 0) || (operand.getMaxSeqPos() != 0)
+						  || operand.hasRepeat()) continue;
+
+					 if (length) operand.setLength(operation.getMinLength(), operation.getMaxLength());
+					 if (seqPos) operand.setSeqPos(operation.getMinSeqPos(), operation.getMaxSeqPos());
+				} else if (operand.track != null) {
+					 if (length) operand.track.filterOnLength(operation.getMinLength(), operation.getMaxLength());
+					 if (seqPos) operand.track.filterOnSeqPos(operation.getMinSeqPos(), operation.getMaxSeqPos());
+				}
+		  }
+	 }
+
+	 /**
+	  * Replace the operands of POS, AND, sAND and &amp;&amp; that share
+	  * no Sequences with the left side with an empty Track, and remove
+	  * the operands of MINUS and sMINUS that share no Sequences with
+	  * the left side.  Neither changes the output.
+	  */
+	 private static void dropDisjoint(ArrayList ops) {
+		  HashSet left = getSources((Operation) ops.get(0));
+
+		  for (int i = 1; i < ops.size(); i++) {
+				Operation operand = (Operation) ops.get(i);
+				HashSet right = getSources(operand);
+
+				switch (operand.getType()) {
+				case 0: case 1: case 4: case 11:
+					 if (isDisjoint(left, right)) {
+						  if (operand.isGroup()) {
+								if (debug) System.out.println("empty operand: " + i);
+								operand.setEmpty();
+						  }
+						  left.clear();
+					 } else {
+						  left.retainAll(right);
+					 }
+					 break;
+				case 3: case 5:
+					 if (isDisjoint(left, right)) {
+						  if (debug) System.out.println("dropped operand: " + i);
+						  ops.remove(i--);
+					 }
+					 break;
+				case 13:
+					 break;
+				default:
+					 left.addAll(right);
+				}
+		  }
+	 }
+
+	 /**
+	  * Sort runs of OR and sAND operands smallest first.  Only runs of
+	  * Tracks are sorted, since the size of a group or negated Track
+	  * isn't known until it's solved.  With IGNORE_ATTRIBUTES set, the
+	  * order decides which of the equal Features is kept, so nothing
+	  * is sorted.
+	  */
+	 private static void sortBySize(ArrayList ops) {
+		  if (GloDBUtils.ignoreAttributes()) return;
+
+		  for (int i = 1; i < ops.size(); i++) {
+				int type = ((Operation) ops.get(i)).getType();
+				if ((type != 2) && (type != 4)) continue;
+
+				// find the end of the run
+				int end = i + 1;
+				while ((end < ops.size()) && (((Operation) ops.get(end)).getType() == type)) end++;
+
+				// the first operand is part of a run that starts with
+				// the second operand
+				int start = i;
+				if ((i == 1) && isSortable((Operation) ops.get(0))) start = 0;
+
+				boolean sortable = true;
+				for (int j = i; j < end; j++) {
+					 if (! isSortable((Operation) ops.get(j))) sortable = false;
+				}
+
+				if (sortable && ((end - start) > 1)) {
+					 List run = ops.subList(start, end);
+					 Collections.sort(run, BY_SIZE);
+					 for (int j = start; j < end; j++) {
+						  if (j == 0) ((Operation) ops.get(j)).setType(-1);
+						  else ((Operation) ops.get(j)).setType(type);
+					 }
+				}
+
+				i = end - 1;
+		  }
+	 }
+
+	 private static boolean isSortable(Operation operation) {
+		  return (! operation.isGroup()) && (! operation.isNegate())
+				&& (! operation.isNegateTwice()) && (operation.track != null);
+	 }
+
+	 /**
+	  * Returns the IDs of all Sequences that the output of 'operation'
+	  * could include.  For groups, this is worked out from the
+	  * operators without solving the group.
+	  */
+	 private static HashSet getSources(Operation operation) {
+		  if (! operation.isGroup()) {
+				if (operation.numFeatures() == 0) return new HashSet();
+				else return new HashSet(operation.track.getSourceSet());
+		  }
+
+		  ArrayList ops = operation.getGroup();
+		  if (ops.isEmpty()) return new HashSet();
+
+		  HashSet sources = getSources((Operation) ops.get(0));
+		  for (int i = 1; i < ops.size(); i++) {
+				Operation operand = (Operation) ops.get(i);
+				switch (operand.getType()) {
+				case 0: case 1: case 4: case 11:
+					 sources.retainAll(getSources(operand));
+					 break;
+				case 3: case 5: case 13:
+					 break;
+				default:
+					 sources.addAll(getSources(operand));
+				}
+		  }
+		  return sources;
+	 }
+
+	 private static boolean isDisjoint(HashSet a, HashSet b) {
+		  for (Iterator i = b.iterator(); i.hasNext();) {
+				if (a.contains(i.next())) return false;
+		  }
+		  return true;
+	 }
+
+} // QueryOptimizer.java
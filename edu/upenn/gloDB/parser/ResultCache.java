@@ -0,0 +1,179 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)ResultCache.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+import edu.upenn.gloDB.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of solved groups and expressions, so that a group used by
+ * several expressions, or several times in the same expression, is
+ * only solved once.  The keys come from Operation.getKey(), which
+ * includes the mod counts of the Tracks used, so changing a Track
+ * means its old results are no longer found and they will
+ * eventually be dropped.  The least recently used results are
+ * dropped when the estimated size of the cached Tracks is over
+ * MAX_BYTES.
+ *
+ * <p>The cached Tracks are clones, which share their Feature columns
+ * with the solved Tracks, so caching a result doesn't copy it.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class ResultCache {
+
+	 /** If false, then nothing is cached. */
+	 public static boolean enabled = true;
+
+	 /** Maximum estimated size of the cached Tracks, in bytes. */
+	 public static long MAX_BYTES = 64L * 1024 * 1024;
+
+	 /** Estimated bytes per Feature in a Track's columns. */
+	 private static final int FEATURE_BYTES = 24;
+
+	 /** Estimated bytes for each entry, not counting the Features. */
+	 private static final int ENTRY_BYTES = 256;
+
+	 /**
+	  * Cached Tracks, in least recently used order.  The keys are the
+	  * Operation keys and the values are Tracks.
+	  */
+	 private static LinkedHashMap cache = new LinkedHashMap(16, 0.75f, true);
+
+	 /** Estimated size of the cached Tracks. */
+	 private static long bytes = 0;
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns the number of cached results. */
+	 public static int size() {
+		  synchronized (cache) { return cache.size(); }
+	 }
+
+	 /** Returns the estimated size of the cached results, in bytes. */
+	 public static long bytes() {
+		  synchronized (cache) { return bytes; }
+	 }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /** Remove all cached results. */
+	 public static void clear() {
+		  synchronized (cache) {
+				cache.clear();
+				bytes = 0;
+		  }
+	 }
+
+	 /**
+	  * Returns the key for the output of the group 'operation', or
+	  * null if the output can't be cached.
+	  */
+	 static String getKey(Operation operation) {
+		  if (! enabled) return null;
+
+		  String key = operation.getKey();
+		  if (key == null) return null;
+		  else return prefix() + key;
+	 }
+
+	 /**
+	  * Returns the key for the output of the Operations 'ops', or null
+	  * if the output can't be cached.  A single Operation isn't worth
+	  * caching.
+	  */
+	 static String getKey(ArrayList ops) {
+		  if ((! enabled) || (ops.size() < 2)) return null;
+
+		  String key = Operation.getKey(ops);
+		  if (key == null) return null;
+		  else return prefix() + key;
+	 }
+
+	 /**
+	  * IGNORE_ATTRIBUTES changes the output, so it's part of the key.
+	  * So are the switches that pick how the operators are solved, so
+	  * a result solved one way is never returned for another.
+	  */
+	 private static String prefix() {
+		  StringBuffer prefix = new StringBuffer();
+		  prefix.append(GloDBUtils.ignoreAttributes() ? 'I' : 'A');
+		  prefix.append(Coverage.enabled ? 'C' : '-');
+		  prefix.append(StreamSolver.enabled ? 'S' : '-');
+		  prefix.append(Operator.HASH_JOIN ? 'H' : '-');
+		  prefix.append(':');
+		  return prefix.toString();
+	 }
+
+	 /**
+	  * Returns a clone of the Track cached for 'key', or null if
+	  * there isn't one.
+	  */
+	 static Track get(String key) {
+		  if (key == null) return null;
+
+		  Track track;
+		  synchronized (cache) { track = (Track) cache.get(key); }
+		  if (track == null) return null;
+		  else return (Track) track.cloneTrack(false);
+	 }
+
+	 /** Returns true if a Track is cached for 'key'. */
+	 static boolean contains(String key) {
+		  if (key == null) return false;
+		  synchronized (cache) { return cache.containsKey(key); }
+	 }
+
+	 /** Cache a clone of 'track' for 'key'. */
+	 static void put(String key, Track track) {
+		  if ((key == null) || (track == null)) return;
+
+		  long size = getSize(track);
+		  if (size > MAX_BYTES) return;
+
+		  Track clone = (Track) track.cloneTrack(false);
+		  synchronized (cache) {
+				Track old = (Track) cache.put(key, clone);
+				if (old != null) bytes -= getSize(old);
+				bytes += size;
+
+				// drop the least recently used results
+				for (Iterator i = cache.values().iterator(); (bytes > MAX_BYTES) && i.hasNext();) {
+					 bytes -= getSize((Track) i.next());
+					 i.remove();
+				}
+		  }
+	 }
+
+	 private static long getSize(Track track) {
+		  return ENTRY_BYTES + ((long) track.numFeatures() * FEATURE_BYTES);
+	 }
+
+} // ResultCache.java
@@ -0,0 +1,869 @@
+/*
+ * Copyright 2007, 2012 Stephen Fisher and Junhyong Kim, University of
+ * Pennsylvania.
+ *
+ * This file is part of Glo-DB.
+ *
+ * Glo-DB is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Glo-DB is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Glo-DB. If not, see <http://www.gnu.org/licenses/>.
+ *
+ * @(#)StreamSolver.java
+ */
+
+package edu.upenn.gloDB.parser;
+
+import edu.upenn.gloDB.*;
+import java.util.ArrayList;
+
+/**
+ * Solves the Operations ArrayList produced by the parser as a
+ * pipeline of FeatureStreams.  Features are pulled through the
+ * pipeline one at a time and only the output is stored in a Track,
+ * so the temporary Tracks for the left side of each Operation, and
+ * for most groups, are never created.  When only the number of
+ * Features, whether there are any, or the positions they cover is
+ * needed, nothing is stored.
+ *
+ * <p>OR, MINUS, sAND and sMINUS are streamed, as are the length and
+ * sequence position filters on groups, since they keep or drop each
+ * Feature of their operands in sorted order.  The right side of MINUS
+ * is searched for overlaps, so it is solved as a Track, unless it is
+ * inverted.  AND and POS keep the Features of each operand that match
+ * a Feature of the other operand, so both operands are solved as
+ * Tracks and searched, but their output is streamed.  The base-wise
+ * operators (&amp;&amp;, || and -) are streamed by Coverage, which
+ * also needs both operands as Tracks, but only combines the positions
+ * on a Sequence when that Sequence is read.  Inverted operands are
+ * read as the gaps between their merged Features, which are found as
+ * the stream is read, so the inverted Track is never stored.  The
+ * base-wise operators when Coverage is disabled, repeat filtered
+ * groups, groups that are inverted twice and groups that are already
+ * in ResultCache are solved by Operator and ParserUtils as before,
+ * and their output Tracks are then read as streams.
+ *
+ * <p>With IGNORE_ATTRIBUTES set, OR and sAND keep the Features from
+ * the larger operand, which isn't known until the operands are
+ * solved, so nothing is streamed.
+ *
+ * @author  Stephen Fisher
+ * @version $Id$
+ */
+
+public class StreamSolver {
+
+	 /** If false, then ParserUtils solves every Operation as a Track. */
+	 public static boolean enabled = true;
+
+	 /** Cursor for Sequences that don't have any Features. */
+	 private static final FeatureCursor EMPTY = new RowCursor(null);
+
+    //--------------------------------------------------------------------------
+    // Setters and Getters
+
+	 /** Returns true if Operations can currently be streamed. */
+	 public static boolean canStream() {
+		  return enabled && (! GloDBUtils.ignoreAttributes());
+	 }
+
+    //--------------------------------------------------------------------------
+    // Miscellaneous Methods
+
+	 /** Solve the Operations in 'ops' and return the output as a Track. */
+	 public static Track solve(ArrayList ops) {
+		  return toTrack(open(ops));
+	 }
+
+	 /**
+	  * Returns the number of Features in the output of the Operations
+	  * in 'ops'.  The output Features are counted as they are read,
+	  * without being stored.
+	  */
+	 public static int count(ArrayList ops) {
+		  if (! canStream()) return ParserUtils.solveOpsRecurse(ops).numFeatures();
+		  return count(open(ops));
+	 }
+
+	 /**
+	  * Returns a stream over the output of the Operations in 'ops'.
+	  * Operators that can't be streamed are solved before this
+	  * returns, the rest are solved as the stream is read.
+	  */
+	 public static FeatureStream open(ArrayList ops) {
+		  FeatureStream stream = getOperand((Operation) ops.get(0));
+
+		  for (int i = 1; i < ops.size(); i++) {
+				Operation operation = (Operation) ops.get(i);
+
+				if (ParserUtils.debugSolveOps) System.out.println("Operation : " + i);
+				if (ParserUtils.debugSolveOps) System.out.println("Op type: " + operation.getType());
+
+				switch (operation.getType()) {
+				case 0:   // POS
+					 stream = openPos(getTrack(stream), ParserUtils.getOperation(operation));
+					 break;
+				case 1:   // AND
+					 stream = openAnd(getTrack(stream), ParserUtils.getOperation(operation).track);
+					 break;
+				case 2:   // OR
+					 stream = new OrStream(stream, getOperand(operation));
+					 break;
+				case 3:   // MINUS
+					 if (isComplement(operation)) {
+						  stream = new MinusGapsStream(stream, getComplement(operation));
+					 } else {
+						  stream = new MinusStream(stream, ParserUtils.getOperation(operation).track);
+					 }
+					 break;
+				case 4:   // sAND
+					 stream = new SAndStream(stream, getOperand(operation));
+					 break;
+				case 5:   // sMINUS
+					 stream = new SMinusStream(stream, getOperand(operation));
+					 break;
+				case 11:  // &&
+				case 12:  // ||
+				case 13:  // -
+					 if (Coverage.enabled) {
+						  stream = openBase(getTrack(stream), ParserUtils.getOperation(operation));
+						  break;
+					 }
+				default:
+					 // solve the left side and use Operator
+					 Track out = Operator.processOperation(toTrack(stream), ParserUtils.getOperation(operation));
+					 if (ParserUtils.debugSolveOps) System.out.println(out);
+					 stream = new TrackStream(out);
+				}
+		  }
+
+		  return stream;
+	 }
+
+	 /** Returns a stream over the Features stored in 'track'. */
+	 public static FeatureStream open(Track track) {
+		  return new TrackStream(track);
+	 }
+
+	 /**
+	  * Returns the Features of 'stream' as a Track.  If 'stream' is
+	  * reading a Track, then that Track is returned, so the Track
+	  * returned must not be changed.
+	  */
+	 private static Track getTrack(FeatureStream stream) {
+		  if (stream instanceof TrackStream) return ((TrackStream) stream).track;
+		  else return toTrack(stream);
+	 }
+
+	 /** Read all of the Features from 'stream' into a new Track. */
+	 public static Track toTrack(FeatureStream stream) {
+		  // the Track doesn't need to be read, just copied
+		  if (stream instanceof TrackStream) {
+				return (Track) ((TrackStream) stream).track.cloneTrack(false);
+		  }
+
+		  final FeatureStream in = stream;
+		  TrackBuilder out = new TrackBuilder();
+		  Operator.runBySource(stream.getSources(), out, new Operator.SourceOp() {
+					 public void run(int source, ArrayList features) {
+						  FeatureCursor cursor = in.open(source);
+						  while (cursor.next()) features.add(cursor.getFeature());
+					 }
+				});
+		  return out.commit();
+	 }
+
+	 /** Returns the number of Features in 'stream'. */
+	 public static int count(FeatureStream stream) {
+		  if (stream instanceof TrackStream) return ((TrackStream) stream).track.numFeatures();
+
+		  int count = 0;
+		  int[] sources = stream.getSources();
+		  for (int s = 0; s < sources.length; s++) {
+				FeatureCursor cursor = stream.open(sources[s]);
+				while (cursor.next()) count++;
+		  }
+		  return count;
+	 }
+
+	 /**
+	  * Returns true if 'stream' contains at least one Feature.  The
+	  * stream is only read up to the first Feature.
+	  */
+	 public static boolean exists(FeatureStream stream) {
+		  if (stream instanceof TrackStream) return ((TrackStream) stream).track.numFeatures() > 0;
+
+		  int[] sources = stream.getSources();
+		  for (int s = 0; s < sources.length; s++) {
+				if (stream.open(sources[s]).next()) return true;
+		  }
+		  return false;
+	 }
+
+	 /**
+	  * Returns the number of positions covered by the Features in
+	  * 'stream', counting overlapping Features once.  The Features on
+	  * each Sequence are read in order of their min positions, so the
+	  * overlapping Features are merged as they are read.
+	  */
+	 public static long coverage(FeatureStream stream) {
+		  long count = 0;
+		  int[] sources = stream.getSources();
+		  for (int s = 0; s < sources.length; s++) {
+				FeatureCursor cursor = stream.open(sources[s]);
+				if (! cursor.next()) continue;
+
+				int min = cursor.getMin();
+				int max = cursor.getMax();
+				while (cursor.next()) {
+					 if (cursor.getMin() > max) {
+						  count += (long) max - min + 1;
+						  min = cursor.getMin();
+						  max = cursor.getMax();
+					 } else if (cursor.getMax() > max) {
+						  max = cursor.getMax();
+					 }
+				}
+				count += (long) max - min + 1;
+		  }
+		  return count;
+	 }
+
+	 /**
+	  * Returns a stream for the operand 'operation'.  Inverted
+	  * operands are read as a ComplementStream.  Other groups are only
+	  * streamed if their output isn't inverted twice, repeat filtered
+	  * or already cached, else the operand is solved by ParserUtils.
+	  */
+	 private static FeatureStream getOperand(Operation operation) {
+		  if (isComplement(operation)) return getComplement(operation);
+
+		  if (operation.isGroup() && (! operation.isNegate()) && (! operation.isNegateTwice())
+				&& (! operation.hasRepeat()) && (! ResultCache.contains(ResultCache.getKey(operation)))) {
+				FeatureStream stream = open(operation.getGroup());
+				if ((operation.getMaxLength() != 0) || (operation.getMaxSeqPos() != 0)) {
+					 stream = new FilterStream(stream, operation);
+				}
+				return stream;
+		  }
+
+		  return new TrackStream(ParserUtils.getOperation(operation).track);
+	 }
+
+	 /**
+	  * Returns true if 'operation' is inverted and can be read as a
+	  * ComplementStream.  A group whose inverted output is already
+	  * cached is read from the cache instead.
+	  */
+	 private static boolean isComplement(Operation operation) {
+		  if (! operation.isNegate()) return false;
+		  return ! (operation.isGroup() && ResultCache.contains(ResultCache.getKey(operation)));
+	 }
+
+	 /**
+	  * Returns the inverted output of 'operation' as a
+	  * ComplementStream.  Groups are solved and filtered first, as
+	  * ParserUtils.getOperation() does, but the output isn't inverted.
+	  */
+	 private static FeatureStream getComplement(Operation operation) {
+		  if (operation.isGroup()) ParserUtils.solveGroup(operation);
+		  return new ComplementStream(operation.track);
+	 }
+
+	 /**
+	  * AND : all F in T1 which overlap F in T2, and the F in T2 that
+	  * they overlap.  This is the same output as Operator.fxn_AND().
+	  */
+	 private static FeatureStream openAnd(Track left, Track right) {
+		  return new OrStream(new OverlapStream(left, right), new OverlapStream(right, left));
+	 }
+
+	 /**
+	  * POS : all F in T1 and T2 that are appropriately spaced.  This
+	  * is the same output as Operator.fxn_POS().
+	  */
+	 private static FeatureStream openPos(Track left, Operation operation) {
+		  return new OrStream(new PosStream(left, operation.track, operation, true), 
+									 new PosStream(operation.track, left, operation, false));
+	 }
+
+	 /**
+	  * The base-wise operators (&amp;&amp;, || and -), solved by
+	  * Coverage one Sequence at a time as the stream is read.  As
+	  * with Operator.fxn_bMINUS(), if either operand of - is empty,
+	  * then the output is the left operand.
+	  */
+	 private static FeatureStream openBase(Track left, Operation operation) {
+		  if ((operation.getType() == 13) 
+				&& ((left.numFeatures() == 0) || (operation.numFeatures() == 0))) {
+				return new TrackStream(left);
+		  }
+		  return Coverage.stream(operation.getType(), left, operation.track);
+	 }
+
+	 /**
+	  * Compares the current Features of 'a' and 'b'.  This follows
+	  * FeatureUtils.compareFeatures() for Features on the same
+	  * Sequence.
+	  */
+	 static int compare(FeatureCursor a, FeatureCursor b) {
+		  int minA = a.getMin();
+		  int minB = b.getMin();
+		  if (minA != minB) return (minA < minB) ? -1 : 1;
+
+		  int maxA = a.getMax();
+		  int maxB = b.getMax();
+		  if (maxA != maxB) return (maxA < maxB) ? -1 : 1;
+
+		  if (GloDBUtils.ignoreAttributes()) return 0;
+		  int hashA = a.getAttributesHash();
+		  int hashB = b.getAttributesHash();
+		  if (hashA != hashB) return (hashA < hashB) ? -1 : 1;
+		  return 0;
+	 }
+
+	 /** Returns the sorted values that are in either 'a' or 'b'. */
+	 private static int[] union(int[] a, int[] b) {
+		  int[] out = new int[a.length + b.length];
+		  int i = 0, j = 0, n = 0;
+		  while ((i < a.length) || (j < b.length)) {
+				if ((j == b.length) || ((i < a.length) && (a[i] < b[j]))) {
+					 out[n++] = a[i++];
+				} else if ((i == a.length) || (b[j] < a[i])) {
+					 out[n++] = b[j++];
+				} else {
+					 out[n++] = a[i++];
+					 j++;
+				}
+		  }
+		  return trim(out, n);
+	 }
+
+	 /** Returns the sorted values that are in both 'a' and 'b'. */
+	 private static int[] intersect(int[] a, int[] b) {
+		  int[] out = new int[Math.min(a.length, b.length)];
+		  int i = 0, j = 0, n = 0;
+		  while ((i < a.length) && (j < b.length)) {
+				if (a[i] < b[j]) {
+					 i++;
+				} else if (b[j] < a[i]) {
+					 j++;
+				} else {
+					 out[n++] = a[i++];
+					 j++;
+				}
+		  }
+		  return trim(out, n);
+	 }
+
+	 private static int[] trim(int[] values, int n) {
+		  if (n == values.length) return values;
+		  int[] out = new int[n];
+		  System.arraycopy(values, 0, out, 0, n);
+		  return out;
+	 }
+
+	 /** Stream over the Features stored in a Track. */
+	 private static class TrackStream implements FeatureStream {
+		  Track track;
+
+		  TrackStream(Track track) { this.track = track; }
+
+		  public int[] getSources() { return track.getSourceOrdinals(); }
+
+		  public FeatureCursor open(int source) {
+				FeatureColumns columns = track.getColumns(source);
+				if (columns == null) return EMPTY;
+				else return new RowCursor(columns);
+		  }
+	 }
+
+	 /** Cursor over the rows of a FeatureColumns. */
+	 private static class RowCursor implements FeatureCursor {
+		  FeatureColumns columns;
+		  int size;
+		  int row = -1;
+
+		  RowCursor(FeatureColumns columns) {
+				this.columns = columns;
+				size = (columns == null) ? 0 : columns.size();
+		  }
+
+		  public int getMin() { return columns.getMin(row); }
+		  public int getMax() { return columns.getMax(row); }
+		  public int length() { return columns.length(row); }
+		  public int getAttributesHash() { return columns.getAttributesHash(row); }
+		  public Feature getFeature() { return columns.getFeature(row); }
+
+		  public boolean next() {
+				if (row < size) row++;
+				return row < size;
+		  }
+	 }
+
+	 /**
+	  * Cursor that returns the Features of another cursor, 'current'.
+	  * Subclasses decide which Features are returned.
+	  */
+	 private static abstract class InputCursor implements FeatureCursor {
+		  FeatureCursor current;
+
+		  public int getMin() { return current.getMin(); }
+		  public int getMax() { return current.getMax(); }
+		  public int length() { return current.length(); }
+		  public int getAttributesHash() { return current.getAttributesHash(); }
+		  public Feature getFeature() { return current.getFeature(); }
+	 }
+
+	 /** Group length and sequence position filters. */
+	 private static class FilterStream implements FeatureStream {
+		  FeatureStream in;
+		  int minLength, maxLength, minSeqPos, maxSeqPos;
+
+		  FilterStream(FeatureStream in, Operation operation) {
+				this.in = in;
+				minLength = operation.getMinLength();
+				maxLength = operation.getMaxLength();
+				minSeqPos = operation.getMinSeqPos();
+				maxSeqPos = operation.getMaxSeqPos();
+		  }
+
+		  public int[] getSources() { return in.getSources(); }
+
+		  public FeatureCursor open(int source) {
+				final FeatureCursor cursor = in.open(source);
+				return new InputCursor() {
+						  { current = cursor; }
+
+						  public boolean next() {
+								while (cursor.next()) {
+									 // these follow Track.filterOnLength() and
+									 // Track.filterOnSeqPos()
+									 if (maxLength != 0) {
+										  int length = cursor.length();
+										  if ((length < minLength) || (length > maxLength)) continue;
+									 }
+									 if (maxSeqPos != 0) {
+										  if ((cursor.getMin() < minSeqPos)
+												|| ((maxSeqPos != -1) && (cursor.getMax() > maxSeqPos))) continue;
+									 }
+									 return true;
+								}
+								return false;
+						  }
+					 };
+		  }
+	 }
+
+	 /** OR : all F in T1 and T2. */
+	 private static class OrStream implements FeatureStream {
+		  FeatureStream left, right;
+
+		  OrStream(FeatureStream left, FeatureStream right) {
+				this.left = left;
+				this.right = right;
+		  }
+
+		  public int[] getSources() { return union(left.getSources(), right.getSources()); }
+
+		  public FeatureCursor open(int source) {
+				final FeatureCursor a = left.open(source);
+				final FeatureCursor b = right.open(source);
+				return new InputCursor() {
+						  boolean hasA = true, hasB = true;
+						  boolean useA = true, useB = true;
+
+						  public boolean next() {
+								// advance the cursors used for the last Feature.
+								// Equal Features use both cursors, so only one
+								// copy is returned.
+								if (useA && hasA) hasA = a.next();
+								if (useB && hasB) hasB = b.next();
+
+								if (hasA && hasB) {
+									 int cmp = compare(a, b);
+									 useA = (cmp <= 0);
+									 useB = (cmp >= 0);
+								} else {
+									 useA = hasA;
+									 useB = hasB;
+								}
+								current = useA ? a : b;
+								return hasA || hasB;
+						  }
+					 };
+		  }
+	 }
+
+	 /**
+	  * MINUS : all F in T1 that don't overlap with F in T2.  The
+	  * right side is a Track, so that its interval index can be used.
+	  */
+	 private static class MinusStream implements FeatureStream {
+		  FeatureStream left;
+		  Track right;
+
+		  MinusStream(FeatureStream left, Track right) {
+				this.left = left;
+				this.right = right;
+		  }
+
+		  public int[] getSources() { return left.getSources(); }
+
+		  public FeatureCursor open(int source) {
+				final FeatureCursor a = left.open(source);
+				final FeatureColumns columns = right.getColumns(source);
+				return new InputCursor() {
+						  { current = a; }
+
+						  public boolean next() {
+								while (a.next()) {
+									 if ((columns == null) || (! columns.overlaps(a.getMin(), a.getMax()))) return true;
+								}
+								return false;
+						  }
+					 };
+		  }
+	 }
+
+	 /**
+	  * MINUS with a right side whose Features are sorted and don't
+	  * overlap each other, such as a ComplementStream.  A left Feature
+	  * overlaps the right side if the first right Feature that ends at
+	  * or after its min starts at or before its max.  The left
+	  * Features are sorted by their min, so the right side is read once
+	  * alongside the left side.
+	  */
+	 private static class MinusGapsStream implements FeatureStream {
+		  FeatureStream left, right;
+
+		  MinusGapsStream(FeatureStream left, FeatureStream right) {
+				this.left = left;
+				this.right = right;
+		  }
+
+		  public int[] getSources() { return left.getSources(); }
+
+		  public FeatureCursor open(int source) {
+				final FeatureCursor a = left.open(source);
+				final FeatureCursor b = right.open(source);
+				return new InputCursor() {
+						  boolean started = false;
+						  boolean hasB;
+						  { current = a; }
+
+						  public boolean next() {
+								if (! started) {
+									 hasB = b.next();
+									 started = true;
+								}
+
+								while (a.next()) {
+									 while (hasB && (b.getMax() < a.getMin())) hasB = b.next();
+									 if ((! hasB) || (b.getMin() > a.getMax())) return true;
+								}
+								return false;
+						  }
+					 };
+		  }
+	 }
+
+	 /**
+	  * The positions that aren't covered by the Features of 'track',
+	  * on each Sequence that 'track' has Features on, as returned by
+	  * ParserUtils.negate().  The gaps between the merged Features are
+	  * found as the stream is read, so the inverted Track is never
+	  * stored and a Feature is only created for a gap if getFeature()
+	  * is called.
+	  */
+	 private static class ComplementStream implements FeatureStream {
+		  Track track;
+		  int[] sources;
+
+		  ComplementStream(Track track) {
+				this.track = track;
+				sources = track.getSourceOrdinals();
+
+				// as with negate(), nothing is returned if a Feature
+				// past the first merged Feature on a Sequence runs past
+				// the end of the Sequence
+				for (int s = 0; s < sources.length; s++) {
+					 if (! isValid(track.getColumns(sources[s]))) {
+						  GloDBUtils.printError("Feature position exceeds sequence length");
+						  sources = new int[0];
+						  break;
+					 }
+				}
+		  }
+
+		  public int[] getSources() { return sources; }
+
+		  public FeatureCursor open(int source) {
+				FeatureColumns columns = track.getColumns(source);
+				if ((columns == null) || (sources.length == 0)) return EMPTY;
+				else return new GapCursor(columns);
+		  }
+
+		  /**
+		   * Returns false if the Features in 'columns' form more than
+		   * one merged Feature and any of them runs past the end of
+		   * the Sequence.
+		   */
+		  private static boolean isValid(FeatureColumns columns) {
+				if (columns.getMaxExtent() <= getSourceMax(columns)) return true;
+
+				int max = columns.getMax(0);
+				for (int row = 1; row < columns.size(); row++) {
+					 if ((max + 1) < columns.getMin(row)) return false;
+					 if (columns.getMax(row) > max) max = columns.getMax(row);
+				}
+				return true;
+		  }
+
+		  /** Returns the last position of the Sequence of 'columns'. */
+		  static int getSourceMax(FeatureColumns columns) {
+				return columns.getSource().getMax() - 1;
+		  }
+	 }
+
+	 /**
+	  * Cursor over the gaps between the merged rows of 'columns',
+	  * plus the gaps before the first row and after the last row.
+	  */
+	 private static class GapCursor implements FeatureCursor {
+		  FeatureColumns columns;
+		  int size;
+		  int sourceMax;
+
+		  /** The next row to merge. */
+		  int row = 0;
+
+		  /** True until the first merged Feature has been read. */
+		  boolean first = true;
+
+		  /** True once the gap after the last row has been returned. */
+		  boolean done = false;
+
+		  /** The first position after the last merged Feature read. */
+		  int minOut;
+
+		  /** The current gap. */
+		  int min, max;
+
+		  GapCursor(FeatureColumns columns) {
+				this.columns = columns;
+				size = columns.size();
+				sourceMax = ComplementStream.getSourceMax(columns);
+		  }
+
+		  public int getMin() { return min; }
+		  public int getMax() { return max; }
+		  public int length() { return (max - min) + 1; }
+
+		  /** The gaps don't have attributes. */
+		  public int getAttributesHash() { return 0; }
+
+		  public Feature getFeature() { return new ExactFeature(min, max, columns.getSource()); }
+
+		  public boolean next() {
+				while (row < size) {
+					 // merge the rows that overlap or are next to each other
+					 int mergedMin = columns.getMin(row);
+					 int mergedMax = columns.getMax(row);
+					 for (row++; (row < size) && (columns.getMin(row) <= (mergedMax + 1)); row++) {
+						  if (columns.getMax(row) > mergedMax) mergedMax = columns.getMax(row);
+					 }
+
+					 // the first gap starts at 0, if the first merged
+					 // Feature doesn't
+					 boolean gap = true;
+					 if (first) {
+						  minOut = 0;
+						  gap = (mergedMin > 0);
+						  first = false;
+					 }
+					 min = minOut;
+					 max = mergedMin - 1;
+					 minOut = mergedMax + 1;
+					 if (gap) return true;
+				}
+
+				// the gap after the last merged Feature
+				if (done || first) return false;
+				done = true;
+				min = minOut;
+				max = sourceMax;
+				return min <= max;
+		  }
+	 }
+
+	 /**
+	  * The Features of 'track' that match a Feature of 'other' on the
+	  * same Sequence, as decided by match().  Both are Tracks, so that
+	  * each Feature of 'track' is matched by searching 'other', as it
+	  * is read.  Nothing is returned if either Track is empty.
+	  */
+	 private static abstract class MatchStream implements FeatureStream {
+		  Track track, other;
+		  int[] sources;
+
+		  MatchStream(Track track, Track other) {
+				this.track = track;
+				this.other = other;
+				if ((track.numFeatures() == 0) || (other.numFeatures() == 0)) {
+					 sources = new int[0];
+				} else {
+					 sources = intersect(track.getSourceOrdinals(), other.getSourceOrdinals());
+				}
+		  }
+
+		  public int[] getSources() { return sources; }
+
+		  /** Returns true if 'row' of 'a' matches a Feature in 'b'. */
+		  abstract boolean match(FeatureColumns a, int row, FeatureColumns b);
+
+		  public FeatureCursor open(int source) {
+				final FeatureColumns a = track.getColumns(source);
+				final FeatureColumns b = other.getColumns(source);
+				if ((a == null) || (b == null)) return EMPTY;
+
+				return new RowCursor(a) {
+						  public boolean next() {
+								while (super.next()) {
+									 if (match(a, row, b)) return true;
+								}
+								return false;
+						  }
+					 };
+		  }
+	 }
+
+	 /** The Features of 'track' that overlap a Feature of 'other'. */
+	 private static class OverlapStream extends MatchStream {
+		  OverlapStream(Track track, Track other) { super(track, other); }
+
+		  boolean match(FeatureColumns a, int row, FeatureColumns b) {
+				return b.overlaps(a.getMin(row), a.getMax(row));
+		  }
+	 }
+
+	 /**
+	  * The Features of one side of POS that have a Feature of the
+	  * other side within the spacing of 'operation'.  If 'left' is
+	  * true, then 'track' is the left side and a Feature matches if a
+	  * Feature of 'other' starts between 'minPos' and 'maxPos'
+	  * positions after its max.  Otherwise 'track' is the right side
+	  * and a Feature matches if a Feature of 'other' ends between
+	  * 'maxPos' and 'minPos' positions before its min.  Either way
+	  * 'other' is binary searched, sorted by min or by max.
+	  */
+	 private static class PosStream extends MatchStream {
+		  int minPos, maxPos;
+		  boolean left;
+
+		  PosStream(Track track, Track other, Operation operation, boolean left) {
+				super(track, other);
+				minPos = operation.minPos;
+				maxPos = operation.maxPos;
+				this.left = left;
+		  }
+
+		  boolean match(FeatureColumns a, int row, FeatureColumns b) {
+				if (left) {
+					 int max = a.getMax(row);
+					 int rowB = b.firstRow(max + minPos);
+					 return (rowB < b.size()) && (b.getMin(rowB) <= (max + maxPos));
+				} else {
+					 int min = a.getMin(row);
+					 int i = b.firstByMax(min - maxPos);
+					 return (i < b.size()) && (b.getMax(b.getRowByMax(i)) <= (min - minPos));
+				}
+		  }
+	 }
+
+	 /** sAND : all features in T1 which exactly overlap features in T2. */
+	 private static class SAndStream implements FeatureStream {
+		  FeatureStream left, right;
+
+		  SAndStream(FeatureStream left, FeatureStream right) {
+				this.left = left;
+				this.right = right;
+		  }
+
+		  public int[] getSources() { return intersect(left.getSources(), right.getSources()); }
+
+		  public FeatureCursor open(int source) {
+				final FeatureCursor a = left.open(source);
+				final FeatureCursor b = right.open(source);
+				return new InputCursor() {
+						  boolean started = false;
+						  boolean hasB;
+						  { current = a; }
+
+						  public boolean next() {
+								if (! a.next()) return false;
+								if (! started) {
+									 hasB = b.next();
+									 started = true;
+								}
+
+								while (hasB) {
+									 int cmp = compare(a, b);
+									 if (cmp == 0) return true;
+									 else if (cmp < 0) {
+										  if (! a.next()) return false;
+									 } else {
+										  hasB = b.next();
+									 }
+								}
+								return false;
+						  }
+					 };
+		  }
+	 }
+
+	 /** sMINUS : all features in T1 that don't exactly overlap features in T2. */
+	 private static class SMinusStream implements FeatureStream {
+		  FeatureStream left, right;
+
+		  SMinusStream(FeatureStream left, FeatureStream right) {
+				this.left = left;
+				this.right = right;
+		  }
+
+		  public int[] getSources() { return left.getSources(); }
+
+		  public FeatureCursor open(int source) {
+				final FeatureCursor a = left.open(source);
+				final FeatureCursor b = right.open(source);
+				return new InputCursor() {
+						  boolean started = false;
+						  boolean hasB;
+						  { current = a; }
+
+						  public boolean next() {
+								if (! started) {
+									 hasB = b.next();
+									 started = true;
+								}
+
+								while (a.next()) {
+									 int cmp = -1;
+									 while (hasB && ((cmp = compare(a, b)) > 0)) hasB = b.next();
+									 if ((! hasB) || (cmp != 0)) return true;
+								}
+								return false;
+						  }
+					 };
+		  }
+	 }
+
+} // StreamSolver.java
@@ -114,6 +114,9 @@ def helpList():
 	printMsg("   guiLoadTrack()")
 	printMsg("   guiLoadSequence()")
 	printMsg("   compute()")
+	printMsg("   count()")
+	printMsg("   exists()")
+	printMsg("   coverage()")
 
 #----------------------------------------------------------------------------
 # edu.upenn.gloDB functions
@@ -137,6 +140,15 @@ def setVerbose(val):
 	"""
 	GloDBUtils.setVerbose(val)
 
+def setParallelism(val):
+	"""setParallelism(val):
+	Changes the number of threads used to process the sequences in a
+	query at the same time.  If 1, then the sequences are processed
+	one at a time.  This value will persist across instances of the
+	application.
+	"""
+	GloDBUtils.setParallelism(val)
+
 def renameTrack(*args):
 	"""renameTrack(old [, new]):
 	Changes the track's name from 'old' to 'new'.
@@ -361,6 +373,35 @@ def compute(expr):
 		return None
 	return ParserUtils().solveOps(ops, id)
 """
+
+def count(expr):
+	"""count(expr):
+	Returns the number of Features that the expression 'expr' would
+	output, without creating the resulting Track.  The expression
+	doesn't need an assignment.  -1 will be returned on error.
+	Example:
+	   >>> count("f1 AND f2")
+	"""
+	return ParserUtils.count(expr)
+
+def exists(expr):
+	"""exists(expr):
+	Returns true if the expression 'expr' would output at least one
+	Feature, without creating the resulting Track.  Solving stops at
+	the first Feature found.  Example:
+	   >>> exists("f1 sAND f2")
+	"""
+	return ParserUtils.exists(expr)
+
+def coverage(expr):
+	"""coverage(expr):
+	Returns the number of positions covered by the Features that the
+	expression 'expr' would output, without creating the resulting
+	Track.  Overlapping Features are only counted once.  -1 will be
+	returned on error.  Example:
+	   >>> coverage("f1 OR f2")
+	"""
+	return ParserUtils.coverage(expr)
 		
 
 #----------------------------------------------------------------------------
@@ -545,6 +545,288 @@ def binTests():
 	setVerbose(verbose_save)
 
 
+# --------------------------------------------------------
+# These compare built-in and external scripts on random tracks:
+
+def randomTests():
+	"""randomTests():
+	Creates random tracks on the sequence 'R' and compares the output
+	of the built-in operators to the scripts in testComp.  The tracks
+	are removed when done.
+	"""
+	# set verbose to 1 to turn off warnings
+	verbose_save = GloDBUtils.getVerbose()
+	if verbose_save > 1: setVerbose(1)
+
+	if getSequence("R") == None:
+		seq = Sequence("R")
+		seq.setData("A" * 3000)
+	if getSequence("RB") == None:
+		seq = Sequence("RB")
+		seq.setData("A" * 200000)
+
+	r1 = randomTrack("r1", 200, 0, 2999, "R")
+	r2 = randomTrack("r2", 200, 0, 2999, "R")
+	# short features under one feature spanning the whole sequence
+	r3 = randomTrack("r3", 200, 1000, 1100, "R")
+	r3.addFeature(ExactFeature(0, 2999, getSequence("R")))
+	# a large track of short features and a small track holding some
+	# of the same features, so that the small track is looked up in
+	# the large one (see Operator.PROBE_RATIO)
+	r4 = Track("r4")
+	r5 = Track("r5")
+	r = Random()
+	for i in range(0, 2000):
+		a = r.nextInt(2990)
+		feat = ExactFeature(a, a + r.nextInt(10), getSequence("R"))
+		r4.addFeature(feat)
+		if (i % 200) == 0: r5.addFeature(feat)
+	for i in range(0, 10):
+		a = r.nextInt(2990)
+		r5.addFeature(ExactFeature(a, a + r.nextInt(10), getSequence("R")))
+	# tracks that cross the 64 KB coverage chunks on 'RB'.  'q1' is
+	# also on 'R', which 'q2' isn't.
+	q1 = Track("q1")
+	q2 = Track("q2")
+	for i in range(0, 300):
+		a = r.nextInt(199000)
+		q1.addFeature(ExactFeature(a, a + r.nextInt(1000), getSequence("RB")))
+		a = r.nextInt(199000)
+		q2.addFeature(ExactFeature(a, a + r.nextInt(1000), getSequence("RB")))
+	q1.addFeature(ExactFeature(65000, 66000, getSequence("RB")))
+	q2.addFeature(ExactFeature(65536, 65536, getSequence("RB")))
+	q1.addFeatures(r1.getFeatures())
+
+	testComp.test("r1 POS{0} r2", testComp._POS(r1, r2, 0, 0))
+	testComp.test("r1 POS{5} r2", testComp._POS(r1, r2, 5, 5))
+	testComp.test("r1 POS{-5} r2", testComp._POS(r1, r2, -5, -5))
+	testComp.test("r1 POS{0,100} r2", testComp._POS(r1, r2, 0, 100))
+	testComp.test("r1 POS{-100,-1} r2", testComp._POS(r1, r2, -100, -1))
+	testComp.test("r1 POS{-500,500} r2", testComp._POS(r1, r2, -500, 500))
+	testComp.test("r2 POS{-3000,3000} r1", testComp._POS(r2, r1, -3000, 3000))
+	testComp.test("r1 POS{-10,10} r1", testComp._POS(r1, r1, -10, 10))
+	testComp.test("r1 AND r2", testComp._AND(r1, r2))
+	testComp.test("r2 AND r1", testComp._AND(r2, r1))
+	testComp.test("r1 AND r3", testComp._AND(r1, r3))
+	testComp.test("r3 AND r1", testComp._AND(r3, r1))
+	testComp.test("r3 AND r3", testComp._AND(r3, r3))
+	testComp.test("r5 AND r4", testComp._AND(r5, r4))
+	testComp.test("r4 AND r5", testComp._AND(r4, r5))
+	testComp.test("r5 MINUS r4", testComp._MINUS(r5, r4))
+	testComp.test("r4 MINUS r5", testComp._MINUS(r4, r5))
+	testComp.test("r5 sAND r4", testComp._sAND(r5, r4))
+	testComp.test("r4 sAND r5", testComp._sAND(r4, r5))
+	testComp.test("r5 sMINUS r4", testComp._sMINUS(r5, r4))
+	testComp.test("r4 sMINUS r5", testComp._sMINUS(r4, r5))
+	testComp.test("r1 && r2", testComp._bAND(r1, r2))
+	testComp.test("r1 || r2", testComp._bOR(r1, r2))
+	testComp.test("r1 - r2", testComp._bMINUS(r1, r2))
+	testComp.test("r3 - r1", testComp._bMINUS(r3, r1))
+	testComp.test("q1 && q2", testComp._bAND(q1, q2))
+	testComp.test("q2 && q1", testComp._bAND(q2, q1))
+	testComp.test("q1 || q2", testComp._bOR(q1, q2))
+	testComp.test("q1 - q2", testComp._bMINUS(q1, q2))
+	testComp.test("q2 - q1", testComp._bMINUS(q2, q1))
+
+	removeTrack("r1")
+	removeTrack("r2")
+	removeTrack("r3")
+	removeTrack("r4")
+	removeTrack("r5")
+	removeTrack("q1")
+	removeTrack("q2")
+
+	# reset verbosity to original value
+	setVerbose(verbose_save)
+
+
+# --------------------------------------------------------
+# These compare count(), exists() and coverage() to compute():
+
+def modeTest(expr):
+	"""modeTest(expr):
+	Compares count(), exists() and coverage() for the expression
+	'expr' (ex: 't1 AND t2') to the Track returned by compute().  The
+	Track is saved as "__modeTest", which is removed when done.
+	"""
+	msg = "TESTING count/exists/coverage \"" + expr + "\": "
+	track = ParserUtils.compute("__modeTest = " + expr)
+	if track == None:
+		printMsg(msg + "Invalid Expression")
+		return
+
+	# positions covered by the Track, counting overlaps once
+	covered = 0
+	merged = track.cloneMerged()
+	if merged.numFeatures() > 0:
+		i = merged.featureIterator()
+		while i.hasNext():
+			feature = i.next()
+			covered = covered + feature.getMax() - feature.getMin() + 1
+
+	if ((count(expr) == track.numFeatures())
+		 and (exists(expr) == (track.numFeatures() > 0))
+		 and (coverage(expr) == covered)):
+		printMsg(msg + "CORRECT")
+	else:
+		printMsg(msg + "** FAILED **")
+
+	removeTrack("__modeTest")
+
+def modeTests():
+	"""modeTests():
+	Checks that count(), exists() and coverage() agree with the Track
+	returned by compute(), for each kind of operator (set, exact
+	match, POS and base pair), for negation and for a range
+	restriction.  These use the tracks t1 to t4, f1, f2, a1 and b1
+	created at the top of this file.
+	"""
+	# set verbose to 1 to turn off warnings
+	verbose_save = GloDBUtils.getVerbose()
+	if verbose_save > 1: setVerbose(1)
+
+	modeTest("t1")
+	modeTest("t1 AND t2")
+	modeTest("t1 OR t2")
+	modeTest("t1 MINUS t2")
+	modeTest("t2 MINUS t1")
+	modeTest("t1 sAND t2")
+	modeTest("t3 sAND t4")
+	modeTest("t1 sMINUS t2")
+	modeTest("t1 POS{5} t2")
+	modeTest("t1 POS{-5,-1} t2")
+	modeTest("t1 && t2")
+	modeTest("t1 || t2")
+	modeTest("t1 - t2")
+	modeTest("! t1")
+	modeTest("! ( t1 - t2 && t2 )")
+	modeTest("(t1 || t2)<10,100>")
+	modeTest("f1 AND f2")
+	modeTest("f1 OR f2")
+	modeTest("f1 - f2")
+	modeTest("a1 AND b1")
+	modeTest("a1 - b1")
+
+	# reset verbosity to original value
+	setVerbose(verbose_save)
+
+
+# --------------------------------------------------------
+# These compare parallel and serial results:
+
+def parallelTrack(name, key, numFeat):
+	"""parallelTrack(name, key, numFeat):
+	Create a track with 'numFeat' features on each of the Sequences
+	P0 to P31.  Every feature is given a distinct 'key' attribute.
+	The same features are created each time for a given 'key'.
+	"""
+	f = Track(name)
+	r = Random(ord(key[0]))
+	for i in range(0, 32):
+		seq = getSequence("P" + str(i))
+		for j in range(0, numFeat):
+			a = r.nextInt(19990)
+			feat = ExactFeature(a, a + r.nextInt(10), seq)
+			feat.setAttributes(key + "=" + str(i) + "_" + str(j))
+			f.addFeature(feat)
+	return f
+
+def parallelCompare(serial, parallel):
+	"""parallelCompare(serial, parallel):
+	Compares the Features and their attributes in two tracks.
+	"""
+	if (serial == None) or (parallel == None): return "** FAILED **"
+	if serial.numFeatures() != parallel.numFeatures(): return "** FAILED **"
+	if serial.numFeatures() == 0: return "CORRECT"
+	i1 = serial.featureIterator()
+	i2 = parallel.featureIterator()
+	while i1.hasNext():
+		f1 = i1.next()
+		f2 = i2.next()
+		if f1.compareTo(f2) != 0: return "** FAILED **"
+		if f1.getAttributesMap() != f2.getAttributesMap(): return "** FAILED **"
+	return "CORRECT"
+
+def parallelTests():
+	"""parallelTests():
+	Solves binary queries over Tracks on many Sequences, once serially
+	and once in parallel, and compares the results.  The Tracks are
+	rebuilt for each query so their attributes aren't yet encoded when
+	the parallel tasks read them.
+	"""
+	# set verbose to 1 to turn off warnings
+	verbose_save = GloDBUtils.getVerbose()
+	if verbose_save > 1: setVerbose(1)
+	parallel_save = GloDBUtils.getParallelism()
+
+	for i in range(0, 32):
+		if getSequence("P" + str(i)) == None:
+			seq = Sequence("P" + str(i))
+			seq.setData("A" * 20000)
+
+	for op in ["&&", "||", "-"]:
+		# the Tracks and outputs are given different IDs in each run,
+		# so the parallel run can't reuse the serial run's output
+		setParallelism(1)
+		sa = parallelTrack("sa", "a", 2000)
+		sb = parallelTrack("sb", "b", 2000)
+		serial = ParserUtils.compute("_ps = sa " + op + " sb")
+		removeTrack("sa")
+		removeTrack("sb")
+
+		setParallelism(8)
+		pa = parallelTrack("pa", "a", 2000)
+		pb = parallelTrack("pb", "b", 2000)
+		try:
+			parallel = ParserUtils.compute("_pp = pa " + op + " pb")
+		except:
+			parallel = None
+		removeTrack("pa")
+		removeTrack("pb")
+
+		printMsg("TESTING \"pa " + op + " pb\" in parallel: " + parallelCompare(serial, parallel))
+		removeTrack("_ps")
+		if parallel != None: removeTrack("_pp")
+
+	# reset parallelism and verbosity to original values
+	setParallelism(parallel_save)
+	setVerbose(verbose_save)
+
+
+# --------------------------------------------------------
+# These rerun the tests with the operator switches changed:
+
+def switchTests():
+	"""switchTests():
+	Runs setTests(), binTests() and randomTests() with each of
+	Operator.HASH_JOIN, Coverage.enabled and StreamSolver.enabled
+	changed from its default, one at a time, so the code paths that
+	aren't used by default are also tested.  The switches are reset
+	when done.
+	"""
+	hash_save = Operator.HASH_JOIN
+	coverage_save = Coverage.enabled
+	stream_save = StreamSolver.enabled
+
+	for switch in ["HASH_JOIN", "Coverage", "StreamSolver"]:
+		Operator.HASH_JOIN = hash_save
+		Coverage.enabled = coverage_save
+		StreamSolver.enabled = stream_save
+		if switch == "HASH_JOIN": Operator.HASH_JOIN = not hash_save
+		elif switch == "Coverage": Coverage.enabled = not coverage_save
+		else: StreamSolver.enabled = not stream_save
+
+		printMsg("TESTING with " + switch + " switched")
+		setTests()
+		binTests()
+		randomTests()
+
+	# reset the switches to their original values
+	Operator.HASH_JOIN = hash_save
+	Coverage.enabled = coverage_save
+	StreamSolver.enabled = stream_save
+
+
 
 # ----------------------------------------------------------------------------
 # Miscellaneous stuff
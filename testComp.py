@@ -290,8 +290,11 @@ def _bMINUS(left, right):
 
 	# process Features by source Sequence	
 	for source in left.getSourceSet():
-		# if source not in both Tracks then skip
-		if not right.contains(source): continue
+		# if source not in "right" Track, then add all Features from the
+		# Source
+		if not right.contains(source):
+			out.addFeatures(left.featuresBySource(source))
+			continue
 		
 		# step through left and compare all features to right
 		for lFeature in left.featuresBySource(source):